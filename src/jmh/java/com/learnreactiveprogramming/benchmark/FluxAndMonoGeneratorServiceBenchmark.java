@@ -0,0 +1,38 @@
+package com.learnreactiveprogramming.benchmark;
+
+import com.learnreactiveprogramming.service.FluxAndMonoGeneratorService;
+import com.learnreactiveprogramming.util.SignalTracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * flatMap vs concatMap sobre la misma fuente. namesFlux_concatmap del servicio usa splitString_async,
+ * con un delay aleatorio de hasta 1s que dominaría la medida, así que la variante concatMap
+ * se monta aquí con el splitString síncrono que usa namesFlux_flatmap.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FluxAndMonoGeneratorServiceBenchmark {
+
+    private final FluxAndMonoGeneratorService fluxAndMonoGeneratorService = new FluxAndMonoGeneratorService(SignalTracer.off());
+
+    @Benchmark
+    public List<String> namesFlux_flatmap() {
+        return fluxAndMonoGeneratorService.namesFlux_flatmap().collectList().block();
+    }
+
+    @Benchmark
+    public List<String> namesFlux_concatmap() {
+        return Flux.fromIterable(List.of("vi", "fe"))
+                .map(String::toUpperCase)
+                .concatMap(fluxAndMonoGeneratorService::splitString)
+                .collectList()
+                .block();
+    }
+}
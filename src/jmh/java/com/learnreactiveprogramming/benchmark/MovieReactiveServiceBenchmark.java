@@ -0,0 +1,107 @@
+package com.learnreactiveprogramming.benchmark;
+
+import com.learnreactiveprogramming.domain.Movie;
+import com.learnreactiveprogramming.domain.MovieInfo;
+import com.learnreactiveprogramming.domain.Review;
+import com.learnreactiveprogramming.service.MovieInfoService;
+import com.learnreactiveprogramming.service.MovieReactiveService;
+import com.learnreactiveprogramming.service.ReviewService;
+import com.learnreactiveprogramming.util.SignalTracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las agregaciones de MovieReactiveService sobre servicios sintéticos en memoria,
+ * parametrizados por tamaño de catálogo y número de reviews por película.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MovieReactiveServiceBenchmark {
+
+    @Param({"100", "10000"})
+    int catalogSize;
+
+    @Param({"2", "100"})
+    int reviewsPerMovie;
+
+    private MovieReactiveService movieReactiveService;
+    private long nextMovieId;
+
+    @Setup
+    public void setUp() {
+        var movieInfoList = new ArrayList<MovieInfo>(catalogSize);
+        for (long movieId = 1; movieId <= catalogSize; movieId++) {
+            movieInfoList.add(new MovieInfo(movieId, 100L + movieId, "Movie " + movieId, 2005,
+                    List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")));
+        }
+        movieReactiveService = new MovieReactiveService(
+                new InMemoryMovieInfoService(movieInfoList),
+                new InMemoryReviewService(reviewsPerMovie));
+        movieReactiveService.setSignalTracer(SignalTracer.off());
+    }
+
+    private long nextMovieId() {
+        nextMovieId = nextMovieId % catalogSize + 1;
+        return nextMovieId;
+    }
+
+    @Benchmark
+    public List<Movie> getAllMovies() {
+        return movieReactiveService.getAllMovies().collectList().block();
+    }
+
+    @Benchmark
+    public Movie getMovieInfo_zipWith() {
+        return movieReactiveService.getMovieInfo(nextMovieId()).block();
+    }
+
+    @Benchmark
+    public Movie getMovieInfoById_flatMap() {
+        return movieReactiveService.getMovieInfoById(nextMovieId()).block();
+    }
+
+    static class InMemoryMovieInfoService extends MovieInfoService {
+        private final List<MovieInfo> movieInfoList;
+
+        InMemoryMovieInfoService(List<MovieInfo> movieInfoList) {
+            super(Schedulers.immediate());
+            this.movieInfoList = movieInfoList;
+        }
+
+        @Override
+        public Flux<MovieInfo> movieInfoFlux() {
+            return Flux.fromIterable(movieInfoList);
+        }
+
+        @Override
+        public Mono<MovieInfo> retrieveMovieInfoMonoUsingId(long movieId) {
+            return Mono.just(movieInfoList.get((int) movieId - 1));
+        }
+    }
+
+    static class InMemoryReviewService extends ReviewService {
+        private final int reviewsPerMovie;
+
+        InMemoryReviewService(int reviewsPerMovie) {
+            this.reviewsPerMovie = reviewsPerMovie;
+        }
+
+        @Override
+        public Flux<Review> retrieveReviewsFlux(long movieId) {
+            return Flux.range(0, reviewsPerMovie)
+                    .map(i -> new Review(movieId, "Awesome Movie", 8.9));
+        }
+    }
+}
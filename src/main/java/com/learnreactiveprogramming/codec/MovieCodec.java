@@ -0,0 +1,341 @@
+package com.learnreactiveprogramming.codec;
+
+import com.learnreactiveprogramming.domain.Movie;
+import com.learnreactiveprogramming.domain.MovieInfo;
+import com.learnreactiveprogramming.domain.Revenue;
+import com.learnreactiveprogramming.domain.Review;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Codec binario de Movie y MovieInfo (con sus Review y Revenue), sin reflexión.
+ *
+ * Formato de un mensaje, versión 1:
+ * - byte versión.
+ * - Tabla de strings: varint n y n x [varint longitud][bytes UTF-8]. Cada string distinto del mensaje
+ *   (nombre, cast, comentarios) se escribe una vez; en el cuerpo se referencia con un varint (0 = null, i + 1).
+ * - Cuerpo. Los enteros son varints (LEB128) en zigzag y release_date son los días desde epoch (0 = null).
+ *   El movie_id de cada Review y Revenue va como diferencia con el movieId de la Movie (normalmente 0, un byte).
+ *   Un rating con un decimal se guarda como varint rating * 10 + 1; el resto (NaN incluido) como 0 y 8 bytes.
+ *
+ * encode escribe la tabla de strings y el cuerpo directamente en un ByteBuffer del tamaño exacto del mensaje.
+ * decode lee del ByteBuffer recibido, desde su posición, y lo deja tras el mensaje, sin copiarlo a otro buffer;
+ * cada string de la tabla se decodifica una sola vez aunque se referencie muchas veces.
+ */
+public final class MovieCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int MOVIE_INFO_PRESENT = 1;
+    private static final int REVENUE_PRESENT = 2;
+    private static final int DEGRADED = 4;
+
+    private static final int RAW_RATING = 0;
+    private static final long MAX_SCALED_RATING = 1 << 20;
+
+    private MovieCodec() {
+    }
+
+    public static ByteBuffer encode(Movie movie) {
+        return new Encoder().encode(movie);
+    }
+
+    public static ByteBuffer encode(MovieInfo movieInfo) {
+        return new Encoder().encode(movieInfo);
+    }
+
+    public static Movie decodeMovie(ByteBuffer buffer) {
+        return read(buffer, Decoder::readMovie);
+    }
+
+    public static MovieInfo decodeMovieInfo(ByteBuffer buffer) {
+        return read(buffer, Decoder::readMovieInfo);
+    }
+
+    /**
+     * Codifica cada Movie en su propio ByteBuffer, reutilizando los buffers de trabajo durante toda la
+     * suscripción: getAllMovies().transform(MovieCodec::encodeFlux).
+     */
+    public static Flux<ByteBuffer> encodeFlux(Flux<Movie> movies) {
+        return Flux.defer(() -> {
+            var encoder = new Encoder();
+            return movies.map(encoder::encode);
+        });
+    }
+
+    private static <T> T read(ByteBuffer buffer, Function<Decoder, T> body) {
+        var order = buffer.order();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        try {
+            return body.apply(new Decoder(buffer));
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varLongSize(long value) {
+        var size = 1;
+        while ((value & ~0x7FL) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    // no es thread-safe: una instancia por suscripción
+    private static final class Encoder {
+        private final Output body = new Output();
+        private final Map<String, Integer> stringRefs = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final List<byte[]> encodedStrings = new ArrayList<>();
+
+        ByteBuffer encode(Movie movie) {
+            start();
+            writeMovie(movie);
+            return finish();
+        }
+
+        ByteBuffer encode(MovieInfo movieInfo) {
+            start();
+            writeMovieInfo(movieInfo);
+            return finish();
+        }
+
+        private void start() {
+            body.reset();
+            stringRefs.clear();
+            strings.clear();
+            encodedStrings.clear();
+        }
+
+        // la tabla de strings va delante del cuerpo: se calcula el tamaño total y se escribe todo una vez
+        private ByteBuffer finish() {
+            var size = 1 + varLongSize(strings.size()) + body.size;
+            for (String value : strings) {
+                var bytes = value.getBytes(StandardCharsets.UTF_8);
+                encodedStrings.add(bytes);
+                size += varLongSize(bytes.length) + bytes.length;
+            }
+            var message = ByteBuffer.allocate(size);
+            message.put(VERSION);
+            putVarLong(message, strings.size());
+            for (byte[] bytes : encodedStrings) {
+                putVarLong(message, bytes.length);
+                message.put(bytes);
+            }
+            message.put(body.bytes, 0, body.size);
+            return message.flip();
+        }
+
+        private void writeMovie(Movie movie) {
+            var movieId = movie.getMovieId();
+            body.put((byte) ((movie.getMovie() != null ? MOVIE_INFO_PRESENT : 0)
+                    | (movie.getRevenue() != null ? REVENUE_PRESENT : 0)
+                    | (movie.isDegraded() ? DEGRADED : 0)));
+            body.putVarLong(zigZag(movieId));
+            if (movie.getMovie() != null) {
+                writeMovieInfo(movie.getMovie());
+            }
+            body.putVarLong(movie.getReviewList().size());
+            for (Review review : movie.getReviewList()) {
+                body.putVarLong(zigZag(review.getMovie_id() - movieId));
+                body.putVarLong(ref(review.getComment()));
+                writeRating(review.getRating());
+            }
+            if (movie.getRevenue() != null) {
+                var revenue = movie.getRevenue();
+                body.putVarLong(zigZag(revenue.getMovieId() - movieId));
+                body.putDouble(revenue.getBudget());
+                body.putDouble(revenue.getBoxOffice());
+            }
+        }
+
+        private void writeMovieInfo(MovieInfo movieInfo) {
+            body.putVarLong(zigZag(movieInfo.getMovieId()));
+            body.putVarLong(zigZag(movieInfo.getMovieInfoId()));
+            body.putVarLong(ref(movieInfo.getName()));
+            body.putVarLong(zigZag(movieInfo.getYear()));
+            var releaseDate = movieInfo.getRelease_date();
+            body.putVarLong(releaseDate == null ? 0 : zigZag(releaseDate.toEpochDay()) + 1);
+            body.putVarLong(movieInfo.getCast().size());
+            for (String name : movieInfo.getCast()) {
+                body.putVarLong(ref(name));
+            }
+        }
+
+        private void writeRating(double rating) {
+            var scaled = Math.round(rating * 10);
+            if (scaled >= 0 && scaled < MAX_SCALED_RATING && Double.compare(scaled / 10.0, rating) == 0) {
+                body.putVarLong(scaled + 1);
+            } else {
+                body.putVarLong(RAW_RATING);
+                body.putDouble(rating);
+            }
+        }
+
+        private int ref(String value) {
+            if (value == null) {
+                return 0;
+            }
+            return stringRefs.computeIfAbsent(value, text -> {
+                strings.add(text);
+                return strings.size();
+            });
+        }
+    }
+
+    private static final class Decoder {
+        private final ByteBuffer buffer;
+        private final String[] strings;
+
+        Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+            var version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported movie codec version: " + version);
+            }
+            this.strings = new String[readCount()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readUtf8(readCount());
+            }
+        }
+
+        Movie readMovie() {
+            var flags = buffer.get();
+            var movieId = unZigZag(readVarLong());
+            var movieInfo = (flags & MOVIE_INFO_PRESENT) != 0 ? readMovieInfo() : null;
+            var reviews = new Review[readCount()];
+            for (int i = 0; i < reviews.length; i++) {
+                reviews[i] = new Review(movieId + unZigZag(readVarLong()), readRef(), readRating());
+            }
+            Revenue revenue = null;
+            if ((flags & REVENUE_PRESENT) != 0) {
+                revenue = new Revenue(movieId + unZigZag(readVarLong()), buffer.getDouble(), buffer.getDouble());
+            }
+            return new Movie(movieId, movieInfo, Arrays.asList(reviews), revenue, (flags & DEGRADED) != 0);
+        }
+
+        MovieInfo readMovieInfo() {
+            var movieId = unZigZag(readVarLong());
+            var movieInfoId = unZigZag(readVarLong());
+            var name = readRef();
+            var year = (int) unZigZag(readVarLong());
+            var releaseDate = readVarLong();
+            var cast = new String[readCount()];
+            for (int i = 0; i < cast.length; i++) {
+                cast[i] = readRef();
+            }
+            return new MovieInfo(movieId, movieInfoId, name, year, Arrays.asList(cast),
+                    releaseDate == 0 ? null : LocalDate.ofEpochDay(unZigZag(releaseDate - 1)));
+        }
+
+        private double readRating() {
+            var scaled = readVarLong();
+            return scaled == RAW_RATING ? buffer.getDouble() : (scaled - 1) / 10.0;
+        }
+
+        private String readRef() {
+            var ref = readCount();
+            if (ref > strings.length) {
+                throw new IllegalArgumentException("Invalid string reference " + ref + " of " + strings.length);
+            }
+            return ref == 0 ? null : strings[ref - 1];
+        }
+
+        // con un buffer respaldado por array se decodifica desde él, sin un byte[] intermedio
+        private String readUtf8(int length) {
+            if (buffer.hasArray()) {
+                var value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+                return value;
+            }
+            var bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int readCount() {
+            var value = readVarLong();
+            if (value < 0 || value > buffer.capacity()) {
+                throw new IllegalArgumentException("Invalid length " + value);
+            }
+            return (int) value;
+        }
+
+        private long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                var b = buffer.get();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+    }
+
+    // byte[] que crece según se escribe, en big-endian
+    private static final class Output {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        void put(byte value) {
+            ensureCapacity(1);
+            bytes[size++] = value;
+        }
+
+        void putVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void putDouble(double value) {
+            ensureCapacity(8);
+            var bits = Double.doubleToRawLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (bits >>> shift);
+            }
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.learnreactiveprogramming.domain;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Lista inmutable de tamaño fijo sobre un array compartido que solo crece por el final.
+ * append desde la vista más larga escribe en el hueco libre del mismo array (O(1) amortizado);
+ * desde una vista más antigua, o con el array lleno, copia a un array nuevo. Las vistas existentes
+ * nunca ven el cambio: solo leen posiciones por debajo de su size, que no se vuelven a escribir.
+ */
+final class AppendOnlyList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private final Backing backing;
+    private final Object[] elements;
+    private final int size;
+
+    private AppendOnlyList(Backing backing, Object[] elements, int size) {
+        this.backing = backing;
+        this.elements = elements;
+        this.size = size;
+    }
+
+    static <E> List<E> append(List<E> list, E element) {
+        if (list instanceof AppendOnlyList) {
+            return ((AppendOnlyList<E>) list).append(element);
+        }
+        var elements = list.toArray(new Object[Math.max(MIN_CAPACITY, list.size() * 2)]);
+        elements[list.size()] = element;
+        return new AppendOnlyList<>(new Backing(list.size() + 1), elements, list.size() + 1);
+    }
+
+    private AppendOnlyList<E> append(E element) {
+        synchronized (backing) {
+            if (backing.used == size && size < elements.length) {
+                elements[size] = element;
+                backing.used++;
+                return new AppendOnlyList<>(backing, elements, size + 1);
+            }
+        }
+        var grown = new Object[Math.max(MIN_CAPACITY, size * 2)];
+        System.arraycopy(elements, 0, grown, 0, size);
+        grown[size] = element;
+        return new AppendOnlyList<>(new Backing(size + 1), grown, size + 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // posiciones del array ya ocupadas por alguna vista; protegido por la propia instancia
+    private static final class Backing {
+        private int used;
+
+        private Backing(int used) {
+            this.used = used;
+        }
+    }
+}
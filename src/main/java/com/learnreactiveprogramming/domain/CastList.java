@@ -0,0 +1,51 @@
+package com.learnreactiveprogramming.domain;
+
+import com.learnreactiveprogramming.util.StringDictionary;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Lista inmutable de cast guardada como ids de Dictionaries.castNames(): 4 bytes por nombre y ninguna
+ * copia del String. Cada nombre se resuelve al leerlo.
+ */
+final class CastList extends AbstractList<String> implements RandomAccess {
+
+    private final int[] ids;
+
+    private CastList(int[] ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * Si algún nombre no cabe en el diccionario se devuelve una lista inmutable normal con los nombres internados.
+     */
+    static List<String> of(List<String> cast) {
+        if (cast == null || cast.isEmpty()) {
+            return List.of();
+        }
+        if (cast instanceof CastList) {
+            return cast;
+        }
+        var dictionary = Dictionaries.castNames();
+        var ids = new int[cast.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.idOf(cast.get(i));
+            if (ids[i] == StringDictionary.NO_ID) {
+                return cast.stream().map(dictionary::intern).toList();
+            }
+        }
+        return new CastList(ids);
+    }
+
+    @Override
+    public String get(int index) {
+        return Dictionaries.castNames().get(ids[index]);
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+}
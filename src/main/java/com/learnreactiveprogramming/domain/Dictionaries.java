@@ -0,0 +1,29 @@
+package com.learnreactiveprogramming.domain;
+
+import com.learnreactiveprogramming.util.StringDictionary;
+
+/**
+ * Diccionarios compartidos por el modelo de dominio. El tamaño se puede fijar con las propiedades de sistema
+ * "dictionary.cast.max-entries" y "dictionary.comments.max-entries"; los comentarios más largos que
+ * "dictionary.comments.max-length" no se internan (texto libre que casi nunca se repite).
+ */
+public final class Dictionaries {
+
+    private static final StringDictionary CAST_NAMES = new StringDictionary(
+            Integer.getInteger("dictionary.cast.max-entries", 1 << 20), Integer.MAX_VALUE);
+
+    private static final StringDictionary REVIEW_COMMENTS = new StringDictionary(
+            Integer.getInteger("dictionary.comments.max-entries", 1 << 16),
+            Integer.getInteger("dictionary.comments.max-length", 64));
+
+    private Dictionaries() {
+    }
+
+    public static StringDictionary castNames() {
+        return CAST_NAMES;
+    }
+
+    public static StringDictionary reviewComments() {
+        return REVIEW_COMMENTS;
+    }
+}
@@ -1,30 +1,58 @@
 package com.learnreactiveprogramming.domain;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import lombok.With;
 
 import java.util.List;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+/**
+ * Inmutable: se puede compartir entre hilos sin copiar. reviewList se guarda con List.copyOf, que no copia
+ * si la lista ya es inmutable (List.of, toList()); el hashCode se calcula una sola vez.
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
 public class Movie {
-    private Long movieId;
-    private MovieInfo movie;
-    private List<Review> reviewList;
-    private Revenue revenue;
+    long movieId;
+    MovieInfo movie;
+    List<Review> reviewList;
+    @With
+    Revenue revenue;
+    // true si las reviews no se pudieron obtener (timeout o error) y reviewList va vacía
+    boolean degraded;
 
-    public Movie(Long movieId, MovieInfo movie, List<Review> reviewList) {
+    @Builder(toBuilder = true)
+    public Movie(long movieId, MovieInfo movie, List<Review> reviewList, Revenue revenue, boolean degraded) {
         this.movieId = movieId;
         this.movie = movie;
-        this.reviewList = reviewList;
+        this.reviewList = reviewList == null ? List.of() : List.copyOf(reviewList);
+        this.revenue = revenue;
+        this.degraded = degraded;
     }
 
-    public Movie( MovieInfo movie, List<Review> reviewList) {
-        this.movieId = movie.getMovieId();
-        this.movie = movie;
+    public Movie(long movieId, MovieInfo movie, List<Review> reviewList) {
+        this(movieId, movie, reviewList, null, false);
+    }
+
+    public Movie(MovieInfo movie, List<Review> reviewList) {
+        this(movie.getMovieId(), movie, reviewList, null, false);
+    }
+
+    // reviewList ya es inmutable y nadie más la referencia: no se vuelve a copiar
+    private Movie(Movie base, List<Review> reviewList) {
+        this.movieId = base.movieId;
+        this.movie = base.movie;
         this.reviewList = reviewList;
+        this.revenue = base.revenue;
+        this.degraded = base.degraded;
     }
 
+    /**
+     * Copia con una review más al final. La lista nueva comparte el array de la anterior (AppendOnlyList),
+     * así que encadenar withReview sobre la última Movie cuesta O(1) amortizado por review y no O(n).
+     */
+    public Movie withReview(Review review) {
+        return new Movie(this, AppendOnlyList.append(reviewList, review));
+    }
 }
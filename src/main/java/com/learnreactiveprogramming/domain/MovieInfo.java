@@ -1,20 +1,33 @@
 package com.learnreactiveprogramming.domain;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
 
 import java.time.LocalDate;
 import java.util.List;
 
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
+/**
+ * Inmutable y con campos primitivos. cast se guarda como ids del diccionario de nombres (ver CastList).
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
 public class MovieInfo {
-    private Long movieId;
-    private Long movieInfoId;
-    private String name;
-    private Integer year;
-    private List<String> cast;
-    private LocalDate release_date;
+    long movieId;
+    long movieInfoId;
+    String name;
+    // 0 si no se conoce
+    int year;
+    List<String> cast;
+    LocalDate release_date;
+
+    @Builder(toBuilder = true)
+    public MovieInfo(long movieId, long movieInfoId, String name, int year, List<String> cast, LocalDate release_date) {
+        this.movieId = movieId;
+        this.movieInfoId = movieInfoId;
+        this.name = name;
+        this.year = year;
+        this.cast = CastList.of(cast);
+        this.release_date = release_date;
+    }
 }
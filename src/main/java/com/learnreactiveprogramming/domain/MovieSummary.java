@@ -0,0 +1,13 @@
+package com.learnreactiveprogramming.domain;
+
+import lombok.Value;
+
+/**
+ * Proyección de Movie con las reviews resumidas en lugar de la lista completa.
+ */
+@Value
+public class MovieSummary {
+    long movieId;
+    MovieInfo movie;
+    ReviewSummary reviewSummary;
+}
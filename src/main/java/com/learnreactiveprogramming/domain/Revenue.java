@@ -2,15 +2,13 @@ package com.learnreactiveprogramming.domain;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@AllArgsConstructor
-@NoArgsConstructor
-@Data
+@Value
 @Builder
+@AllArgsConstructor
 public class Revenue {
-    private Long movieId;
-    private double budget;
-    private double boxOffice;
+    long movieId;
+    double budget;
+    double boxOffice;
 }
@@ -1,14 +1,28 @@
 package com.learnreactiveprogramming.domain;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
 public class Review {
-    private Long movie_id;
-    private String comment;
-    private Double rating;
+    long movie_id;
+    // internado en Dictionaries.reviewComments()
+    String comment;
+    // NaN si la review no tiene rating
+    double rating;
+
+    @Builder
+    public Review(long movie_id, String comment, double rating) {
+        this.movie_id = movie_id;
+        this.comment = Dictionaries.reviewComments().intern(comment);
+        this.rating = rating;
+    }
+
+    public boolean hasRating() {
+        return !Double.isNaN(rating);
+    }
+
+    public static class ReviewBuilder {
+        private double rating = Double.NaN;
+    }
 }
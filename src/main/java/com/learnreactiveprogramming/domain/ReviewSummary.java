@@ -0,0 +1,99 @@
+package com.learnreactiveprogramming.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resumen de las reviews de una película calculado en streaming (tamaño constante por película).
+ * ratingHistogram es null si no se pidió; si existe, tiene un contador por cada décima de rating entre 0 y 10.
+ * El array no se expone (se lee con getRatingCount) para que el resumen siga siendo inmutable;
+ * equals y hashCode lo comparan por contenido (Arrays.equals / Arrays.hashCode).
+ */
+@Value
+public class ReviewSummary {
+    public static final int HISTOGRAM_BUCKETS = 101;
+
+    long count;
+    double meanRating;
+    double minRating;
+    double maxRating;
+    List<String> topComments;
+    @Getter(AccessLevel.NONE)
+    long[] ratingHistogram;
+
+    public static ReviewSummary empty() {
+        return new ReviewSummary(0, Double.NaN, Double.NaN, Double.NaN, List.of(), null);
+    }
+
+    public boolean hasRatingHistogram() {
+        return ratingHistogram != null;
+    }
+
+    /**
+     * @param bucket décima de rating entre 0 y HISTOGRAM_BUCKETS - 1 (p.ej. 85 para 8.5)
+     */
+    public long getRatingCount(int bucket) {
+        if (ratingHistogram == null) {
+            throw new IllegalStateException("rating histogram was not computed");
+        }
+        return ratingHistogram[bucket];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReviewSummary)) {
+            return false;
+        }
+        var other = (ReviewSummary) o;
+        return count == other.count
+                && Double.compare(meanRating, other.meanRating) == 0
+                && Double.compare(minRating, other.minRating) == 0
+                && Double.compare(maxRating, other.maxRating) == 0
+                && topComments.equals(other.topComments)
+                && Arrays.equals(ratingHistogram, other.ratingHistogram);
+    }
+
+    @Override
+    public int hashCode() {
+        var result = Long.hashCode(count);
+        result = 31 * result + Double.hashCode(meanRating);
+        result = 31 * result + Double.hashCode(minRating);
+        result = 31 * result + Double.hashCode(maxRating);
+        result = 31 * result + topComments.hashCode();
+        return 31 * result + Arrays.hashCode(ratingHistogram);
+    }
+
+    /**
+     * Cuantil aproximado (resolución de 0.1) del rating a partir del histograma.
+     *
+     * @param quantile entre 0 y 1, p.ej. 0.5 para la mediana
+     */
+    public double ratingQuantile(double quantile) {
+        if (ratingHistogram == null) {
+            throw new IllegalStateException("rating histogram was not computed");
+        }
+        long total = 0;
+        for (long bucketCount : ratingHistogram) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int bucket = 0; bucket < ratingHistogram.length; bucket++) {
+            seen += ratingHistogram[bucket];
+            if (seen >= Math.max(rank, 1)) {
+                return bucket / 10.0;
+            }
+        }
+        return 10.0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.learnreactiveprogramming.domain;
+
+import lombok.Value;
+
+/**
+ * Review nueva de una película junto con su posición en las reviews de esa película (1 = la primera).
+ * Con sequence se sabe si una Movie leída antes ya la contiene: sequence &lt;= reviewList.size().
+ */
+@Value
+public class ReviewUpdate {
+    long sequence;
+    Review review;
+}
@@ -0,0 +1,10 @@
+package com.learnreactiveprogramming.exception;
+
+public class BacklogFullException extends RuntimeException {
+    String message;
+
+    public BacklogFullException(String message) {
+        super(message);
+        this.message = message;
+    }
+}
@@ -0,0 +1,10 @@
+package com.learnreactiveprogramming.exception;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+    String message;
+
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+        this.message = message;
+    }
+}
@@ -0,0 +1,10 @@
+package com.learnreactiveprogramming.exception;
+
+public class DeadlineExceededException extends RuntimeException {
+    String message;
+
+    public DeadlineExceededException(String message) {
+        super(message);
+        this.message = message;
+    }
+}
@@ -0,0 +1,19 @@
+package com.learnreactiveprogramming.metrics;
+
+public interface Counter {
+
+    Counter NOOP = new Counter() {
+        @Override
+        public void increment() {
+        }
+
+        @Override
+        public long count() {
+            return 0;
+        }
+    };
+
+    void increment();
+
+    long count();
+}
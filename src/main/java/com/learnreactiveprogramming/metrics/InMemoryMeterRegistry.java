@@ -0,0 +1,96 @@
+package com.learnreactiveprogramming.metrics;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MeterRegistry en memoria: contadores y timers sobre LongAdder, sin exportación.
+ */
+public class InMemoryMeterRegistry implements MeterRegistry {
+
+    private final Map<MeterId, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<MeterId, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterId, AtomicLong> gauges = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(String name, String... tags) {
+        return counters.computeIfAbsent(new MeterId(name, List.of(tags)), id -> new InMemoryCounter());
+    }
+
+    @Override
+    public Timer timer(String name, String... tags) {
+        return timers.computeIfAbsent(new MeterId(name, List.of(tags)), id -> new InMemoryTimer());
+    }
+
+    @Override
+    public AtomicLong gauge(String name, String... tags) {
+        return gauges.computeIfAbsent(new MeterId(name, List.of(tags)), id -> new AtomicLong());
+    }
+
+    public Map<MeterId, Counter> getCounters() {
+        return Map.copyOf(counters);
+    }
+
+    public Map<MeterId, Timer> getTimers() {
+        return Map.copyOf(timers);
+    }
+
+    public Map<MeterId, AtomicLong> getGauges() {
+        return Map.copyOf(gauges);
+    }
+
+    @Value
+    public static class MeterId {
+        String name;
+        List<String> tags;
+    }
+
+    private static final class InMemoryCounter implements Counter {
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public void increment() {
+            count.increment();
+        }
+
+        @Override
+        public long count() {
+            return count.sum();
+        }
+    }
+
+    private static final class InMemoryTimer implements Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        @Override
+        public void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            if (nanos > maxNanos.get()) {
+                maxNanos.accumulateAndGet(nanos, Math::max);
+            }
+        }
+
+        @Override
+        public long count() {
+            return count.sum();
+        }
+
+        @Override
+        public long totalTimeNanos() {
+            return totalNanos.sum();
+        }
+
+        @Override
+        public long maxNanos() {
+            return maxNanos.get();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.learnreactiveprogramming.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro de métricas al estilo Micrometer. Cada meter se identifica por nombre y pares de tags
+ * (clave, valor, clave, valor...); pedir dos veces el mismo id devuelve el mismo meter.
+ * Se puede implementar sobre Micrometer u otro backend; InMemoryMeterRegistry sirve para tests.
+ */
+public interface MeterRegistry {
+
+    Counter counter(String name, String... tags);
+
+    Timer timer(String name, String... tags);
+
+    // gauge respaldado por un AtomicLong que actualiza quien lo mide
+    AtomicLong gauge(String name, String... tags);
+
+    default boolean isNoop() {
+        return false;
+    }
+
+    static MeterRegistry noop() {
+        return NoopMeterRegistry.INSTANCE;
+    }
+}
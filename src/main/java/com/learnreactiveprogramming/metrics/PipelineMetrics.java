@@ -0,0 +1,145 @@
+package com.learnreactiveprogramming.metrics;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Operadores de instrumentación para los pipelines de MovieReactiveService (se aplican con transform()).
+ * Meters:
+ * - movies.subscriptions, movies.inflight, movies.emitted y movies.errors (tag exception = causa raíz) por pipeline
+ * - movies.stage.duration por etapa (ver Stage)
+ * Los timers y operadores de cada etapa se resuelven una vez al crear PipelineMetrics.
+ * Con MeterRegistry.noop() los operadores son la función identidad y no añaden coste.
+ */
+public class PipelineMetrics {
+
+    public enum Stage {
+        // duración de todo el catálogo de movieInfoFlux
+        MOVIE_INFO_FLUX("movieInfoFlux"),
+        // búsqueda de un solo MovieInfo por id
+        MOVIE_INFO_BY_ID("movieInfoById"),
+        REVIEWS("reviews"),
+        ASSEMBLY("assembly");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final MeterRegistry registry;
+    private final Timer[] stageTimers = new Timer[STAGES.length];
+    private final Function<?, ?>[] timedMonos = new Function<?, ?>[STAGES.length];
+    private final Function<?, ?>[] timedFluxes = new Function<?, ?>[STAGES.length];
+
+    public PipelineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : STAGES) {
+            var i = stage.ordinal();
+            if (registry.isNoop()) {
+                stageTimers[i] = Timer.NOOP;
+                timedMonos[i] = Function.identity();
+                timedFluxes[i] = Function.identity();
+            } else {
+                var timer = registry.timer("movies.stage.duration", "stage", stage.getTag());
+                stageTimers[i] = timer;
+                timedMonos[i] = timedMono(timer);
+                timedFluxes[i] = timedFlux(timer);
+            }
+        }
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> flux(String pipeline) {
+        if (registry.isNoop()) {
+            return Function.identity();
+        }
+        var subscriptions = registry.counter("movies.subscriptions", "pipeline", pipeline);
+        var emitted = registry.counter("movies.emitted", "pipeline", pipeline);
+        var inFlight = registry.gauge("movies.inflight", "pipeline", pipeline);
+        return flux -> flux
+                .doOnSubscribe(subscription -> {
+                    subscriptions.increment();
+                    inFlight.incrementAndGet();
+                })
+                .doOnNext(value -> emitted.increment())
+                .doOnError(ex -> errorCounter(pipeline, ex).increment())
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> mono(String pipeline) {
+        if (registry.isNoop()) {
+            return Function.identity();
+        }
+        var subscriptions = registry.counter("movies.subscriptions", "pipeline", pipeline);
+        var emitted = registry.counter("movies.emitted", "pipeline", pipeline);
+        var inFlight = registry.gauge("movies.inflight", "pipeline", pipeline);
+        return mono -> mono
+                .doOnSubscribe(subscription -> {
+                    subscriptions.increment();
+                    inFlight.incrementAndGet();
+                })
+                .doOnNext(value -> emitted.increment())
+                .doOnError(ex -> errorCounter(pipeline, ex).increment())
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    // duración desde la suscripción hasta la terminación (o cancelación) de la etapa
+    @SuppressWarnings("unchecked")
+    public <T> Function<Mono<T>, Mono<T>> timedMono(Stage stage) {
+        return (Function<Mono<T>, Mono<T>>) timedMonos[stage.ordinal()];
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Function<Flux<T>, Flux<T>> timedFlux(Stage stage) {
+        return (Function<Flux<T>, Flux<T>>) timedFluxes[stage.ordinal()];
+    }
+
+    public <T> T timed(Stage stage, Supplier<T> work) {
+        if (registry.isNoop()) {
+            return work.get();
+        }
+        var startNanos = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            stageTimers[stage.ordinal()].record(System.nanoTime() - startNanos);
+        }
+    }
+
+    private static <T> Function<Mono<T>, Mono<T>> timedMono(Timer timer) {
+        return mono -> Mono.defer(() -> {
+            var startNanos = System.nanoTime();
+            return mono.doFinally(signal -> timer.record(System.nanoTime() - startNanos));
+        });
+    }
+
+    private static <T> Function<Flux<T>, Flux<T>> timedFlux(Timer timer) {
+        return flux -> Flux.defer(() -> {
+            var startNanos = System.nanoTime();
+            return flux.doFinally(signal -> timer.record(System.nanoTime() - startNanos));
+        });
+    }
+
+    // los pipelines envuelven los fallos (MovieException...); el tag es la excepción original
+    private Counter errorCounter(String pipeline, Throwable ex) {
+        return registry.counter("movies.errors", "pipeline", pipeline, "exception", rootCause(ex).getClass().getSimpleName());
+    }
+
+    private static Throwable rootCause(Throwable ex) {
+        var cause = ex;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,33 @@
+package com.learnreactiveprogramming.metrics;
+
+public interface Timer {
+
+    Timer NOOP = new Timer() {
+        @Override
+        public void record(long nanos) {
+        }
+
+        @Override
+        public long count() {
+            return 0;
+        }
+
+        @Override
+        public long totalTimeNanos() {
+            return 0;
+        }
+
+        @Override
+        public long maxNanos() {
+            return 0;
+        }
+    };
+
+    void record(long nanos);
+
+    long count();
+
+    long totalTimeNanos();
+
+    long maxNanos();
+}
@@ -0,0 +1,162 @@
+package com.learnreactiveprogramming.resilience;
+
+import com.learnreactiveprogramming.exception.CircuitBreakerOpenException;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker reactivo con estados CLOSED, OPEN y HALF_OPEN.
+ * - CLOSED: registra el resultado de las últimas slidingWindowSize llamadas y abre el circuito cuando
+ *   la tasa de fallos o de llamadas lentas supera su umbral.
+ * - OPEN: rechaza las llamadas al momento con CircuitBreakerOpenException hasta que pasa waitDurationInOpenState.
+ * - HALF_OPEN: deja pasar permittedCallsInHalfOpenState llamadas de prueba y según su resultado
+ *   vuelve a CLOSED o a OPEN.
+ * Una llamada cancelada antes de responder (p. ej. cortada por un timeout) cuenta como fallida,
+ * y además como lenta si llevaba al menos slowCallDurationThreshold en curso.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final CircuitBreakerConfig config;
+    private final long slowCallDurationNanos;
+    private final long waitDurationInOpenStateNanos;
+    private final LongSupplier nanoClock;
+
+    // estado protegido por this
+    private State state = State.CLOSED;
+    private final byte[] outcomes;
+    private int nextIndex;
+    private int recordedCalls;
+    private int failedCalls;
+    private int slowCalls;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenCompletedCalls;
+
+    public CircuitBreaker(String name, CircuitBreakerConfig config) {
+        this(name, config, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, CircuitBreakerConfig config, LongSupplier nanoClock) {
+        this.name = name;
+        this.config = config;
+        this.slowCallDurationNanos = config.getSlowCallDurationThreshold().toNanos();
+        this.waitDurationInOpenStateNanos = config.getWaitDurationInOpenState().toNanos();
+        this.nanoClock = nanoClock;
+        this.outcomes = new byte[config.getSlidingWindowSize()];
+    }
+
+    public <T> Mono<T> protect(Mono<T> source) {
+        return Mono.defer(() -> {
+            if (!tryAcquirePermission()) {
+                return Mono.error(new CircuitBreakerOpenException("Circuit breaker '" + name + "' is OPEN"));
+            }
+            var startNanos = nanoClock.getAsLong();
+            var completed = new AtomicBoolean();
+            return source
+                    .doOnSuccess(value -> {
+                        if (completed.compareAndSet(false, true)) {
+                            onResult(false, nanoClock.getAsLong() - startNanos);
+                        }
+                    })
+                    .doOnError(ex -> {
+                        if (completed.compareAndSet(false, true)) {
+                            onResult(true, nanoClock.getAsLong() - startNanos);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (completed.compareAndSet(false, true)) {
+                            onResult(true, nanoClock.getAsLong() - startNanos);
+                        }
+                    });
+        });
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < waitDurationInOpenStateNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    private synchronized void onResult(boolean failed, long durationNanos) {
+        if (state == State.OPEN) {
+            return; // resultado de una llamada iniciada antes de abrir el circuito
+        }
+        record(failed, durationNanos >= slowCallDurationNanos);
+        if (state == State.HALF_OPEN) {
+            halfOpenCompletedCalls++;
+            if (halfOpenCompletedCalls >= config.getPermittedCallsInHalfOpenState()) {
+                transitionTo(isAboveThresholds() ? State.OPEN : State.CLOSED);
+            }
+        } else if (recordedCalls >= config.getMinimumNumberOfCalls() && isAboveThresholds()) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (recordedCalls == outcomes.length) {
+            var evicted = outcomes[nextIndex];
+            failedCalls -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recordedCalls++;
+        }
+        var outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        outcomes[nextIndex] = outcome;
+        failedCalls += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+        nextIndex = (nextIndex + 1) % outcomes.length;
+    }
+
+    private boolean isAboveThresholds() {
+        var failureRate = failedCalls * 100f / recordedCalls;
+        var slowCallRate = slowCalls * 100f / recordedCalls;
+        return failureRate >= config.getFailureRateThreshold() || slowCallRate >= config.getSlowCallRateThreshold();
+    }
+
+    private void transitionTo(State newState) {
+        log.warn("Circuit breaker '{}' {} -> {}", name, state, newState);
+        state = newState;
+        nextIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        if (newState == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        } else if (newState == State.HALF_OPEN) {
+            halfOpenPermits = config.getPermittedCallsInHalfOpenState();
+            halfOpenCompletedCalls = 0;
+        }
+    }
+}
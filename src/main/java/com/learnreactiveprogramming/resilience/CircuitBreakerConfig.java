@@ -0,0 +1,34 @@
+package com.learnreactiveprogramming.resilience;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder
+public class CircuitBreakerConfig {
+    // número de llamadas recientes sobre las que se calculan las tasas
+    @Builder.Default
+    int slidingWindowSize = 50;
+    // llamadas mínimas en la ventana antes de poder abrir el circuito
+    @Builder.Default
+    int minimumNumberOfCalls = 20;
+    // porcentaje de fallos que abre el circuito
+    @Builder.Default
+    float failureRateThreshold = 50;
+    // porcentaje de llamadas lentas que abre el circuito
+    @Builder.Default
+    float slowCallRateThreshold = 80;
+    @Builder.Default
+    Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+    @Builder.Default
+    Duration waitDurationInOpenState = Duration.ofSeconds(10);
+    // llamadas de prueba en HALF_OPEN antes de decidir si se cierra o se vuelve a abrir
+    @Builder.Default
+    int permittedCallsInHalfOpenState = 5;
+
+    public static CircuitBreakerConfig defaults() {
+        return CircuitBreakerConfig.builder().build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.learnreactiveprogramming.resilience;
+
+import com.learnreactiveprogramming.exception.DeadlineExceededException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Instante límite de una petición, propagado en el Context de Reactor.
+ * - El llamador lo fija al suscribirse: getMovieInfo(id).contextWrite(Deadline.within(Duration.ofMillis(300))).
+ * - Cada llamada a un servicio aplica mono(..)/flux(..): recibe como timeout el tiempo que le queda a la
+ *   petición, no un valor fijo, y si ya no queda tiempo falla sin llegar a llamar al servicio.
+ * Sin Deadline en el Context los operadores no añaden ningún timeout.
+ */
+public final class Deadline {
+
+    public static final Class<Deadline> CONTEXT_KEY = Deadline.class;
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * Escribe en el Context un Deadline a budget desde la suscripción. Si ya había uno más cercano
+     * (por ejemplo el de la petición que engloba a esta) se mantiene el más cercano.
+     */
+    public static Function<Context, Context> within(Duration budget) {
+        return context -> {
+            var deadline = after(budget);
+            var current = context.<Deadline>getOrEmpty(CONTEXT_KEY);
+            if (current.isPresent() && current.get().deadlineNanos - deadline.deadlineNanos <= 0) {
+                return context;
+            }
+            return context.put(CONTEXT_KEY, deadline);
+        };
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @param operation nombre de la llamada, para el mensaje de DeadlineExceededException
+     */
+    public static <T> Function<Mono<T>, Mono<T>> mono(String operation) {
+        return source -> Mono.deferContextual(context -> context.<Deadline>getOrEmpty(CONTEXT_KEY)
+                .map(deadline -> deadline.isExpired()
+                        ? Mono.<T>error(deadline.exceeded(operation))
+                        : source.timeout(deadline.remaining(), Mono.defer(() -> Mono.error(deadline.exceeded(operation)))))
+                .orElse(source));
+    }
+
+    // el límite se aplica a todo el flujo, no a cada elemento
+    public static <T> Function<Flux<T>, Flux<T>> flux(String operation) {
+        return source -> Flux.deferContextual(context -> context.<Deadline>getOrEmpty(CONTEXT_KEY)
+                .map(deadline -> deadline.isExpired()
+                        ? Flux.<T>error(deadline.exceeded(operation))
+                        : source.takeUntilOther(Mono.delay(deadline.remaining())
+                                .then(Mono.defer(() -> Mono.error(deadline.exceeded(operation))))))
+                .orElse(source));
+    }
+
+    private DeadlineExceededException exceeded(String operation) {
+        return new DeadlineExceededException("Deadline exceeded before " + operation + " completed");
+    }
+}
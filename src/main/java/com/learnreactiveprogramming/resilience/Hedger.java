@@ -0,0 +1,117 @@
+package com.learnreactiveprogramming.resilience;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hedged requests: si el primer intento no ha respondido tras el retardo de cobertura, se lanza un
+ * segundo intento y gana la primera señal del primero o el primer valor del segundo; el perdedor se
+ * cancela. Un error o un vacío del segundo intento se ignora y se sigue esperando al primero.
+ * - El retardo es el percentil delayPercentile de las últimas latencias del primer intento
+ *   (initialDelay hasta tener minimumNumberOfSamples), nunca por debajo de minDelay. Solo cuentan los
+ *   primeros intentos que terminan bien: los cancelados no tienen latencia real y sesgarían el percentil.
+ * - Los segundos intentos consumen un presupuesto (RetryBudget) al que cada primer intento correcto aporta maxExtraLoad:
+ *   si se agota, el primer intento sigue solo y la cobertura no amplifica la carga del servicio lento.
+ */
+public class Hedger {
+
+    private final HedgingConfig config;
+    private final LongSupplier nanoClock;
+    private final RetryBudget budget;
+    private final long minDelayNanos;
+    private final int recomputeInterval;
+
+    // ventana de latencias protegida por this
+    private final long[] latencies;
+    private int nextIndex;
+    private int recordedSamples;
+    private int samplesSinceRecompute;
+    private long delayNanos;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder rejectedHedges = new LongAdder();
+
+    public Hedger(HedgingConfig config) {
+        this(config, System::nanoTime);
+    }
+
+    Hedger(HedgingConfig config, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.budget = new RetryBudget(config.getMaxExtraLoad(), config.getMaxBurst());
+        this.minDelayNanos = config.getMinDelay().toNanos();
+        this.latencies = new long[config.getLatencyWindowSize()];
+        this.recomputeInterval = Math.max(1, latencies.length / 8);
+        this.delayNanos = Math.max(minDelayNanos, config.getInitialDelay().toNanos());
+    }
+
+    /**
+     * @param attempt crea un intento nuevo en cada invocación (se llama una o dos veces por suscripción)
+     */
+    public <T> Mono<T> hedge(Supplier<Mono<T>> attempt) {
+        return Mono.defer(() -> {
+            calls.increment();
+            var startNanos = nanoClock.getAsLong();
+            var primary = Mono.defer(attempt)
+                    .doOnSuccess(value -> {
+                        budget.recordSuccess();
+                        recordLatency(nanoClock.getAsLong() - startNanos);
+                    });
+            var hedge = Mono.delay(currentDelay())
+                    .flatMap(tick -> {
+                        if (!budget.tryAcquire()) {
+                            rejectedHedges.increment();
+                            return Mono.<T>never();
+                        }
+                        hedges.increment();
+                        return Mono.defer(attempt)
+                                .onErrorResume(ex -> Mono.never())
+                                .switchIfEmpty(Mono.never())
+                                .doOnNext(value -> hedgeWins.increment());
+                    });
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    public synchronized Duration currentDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[nextIndex] = nanos;
+        nextIndex = (nextIndex + 1) % latencies.length;
+        if (recordedSamples < latencies.length) {
+            recordedSamples++;
+        }
+        if (recordedSamples >= config.getMinimumNumberOfSamples() && ++samplesSinceRecompute >= recomputeInterval) {
+            samplesSinceRecompute = 0;
+            var window = Arrays.copyOf(latencies, recordedSamples);
+            Arrays.sort(window);
+            var rank = (int) Math.ceil(config.getDelayPercentile() / 100 * window.length) - 1;
+            delayNanos = Math.max(minDelayNanos, window[Math.max(0, Math.min(rank, window.length - 1))]);
+        }
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    public long getRejectedHedges() {
+        return rejectedHedges.sum();
+    }
+}
@@ -0,0 +1,34 @@
+package com.learnreactiveprogramming.resilience;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder
+public class HedgingConfig {
+    // percentil de la latencia reciente a partir del cual se lanza el segundo intento
+    @Builder.Default
+    double delayPercentile = 95;
+    // retardo mientras no hay minimumNumberOfSamples latencias registradas
+    @Builder.Default
+    Duration initialDelay = Duration.ofMillis(50);
+    @Builder.Default
+    Duration minDelay = Duration.ofMillis(1);
+    // número de latencias recientes sobre las que se calcula el percentil
+    @Builder.Default
+    int latencyWindowSize = 128;
+    @Builder.Default
+    int minimumNumberOfSamples = 20;
+    // carga extra máxima a largo plazo: fracción de intentos adicionales por llamada (0.05 = 5%)
+    @Builder.Default
+    double maxExtraLoad = 0.05;
+    // intentos adicionales acumulables como máximo
+    @Builder.Default
+    int maxBurst = 10;
+
+    public static HedgingConfig defaults() {
+        return HedgingConfig.builder().build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.learnreactiveprogramming.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Presupuesto de reintentos compartido entre todas las llamadas concurrentes (token bucket).
+ * Cada llamada con éxito deposita tokensPerSuccess tokens y cada reintento consume uno, así que
+ * a largo plazo los reintentos no superan esa fracción del tráfico correcto. Cuando el backend
+ * falla de forma generalizada el presupuesto se agota y se deja de amplificar la carga.
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long tokensPerSuccess;
+    private final long maxTokens;
+    private final AtomicLong tokens;
+
+    /**
+     * @param tokensPerSuccess fracción de reintentos permitida por llamada correcta (p.ej. 0.1 = 10%)
+     * @param maxTokens        reintentos acumulables como máximo; el presupuesto empieza lleno
+     */
+    public RetryBudget(double tokensPerSuccess, int maxTokens) {
+        this.tokensPerSuccess = Math.round(tokensPerSuccess * SCALE);
+        this.maxTokens = maxTokens * SCALE;
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    public void recordSuccess() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= maxTokens) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(maxTokens, current + tokensPerSuccess)));
+    }
+
+    public double availableRetries() {
+        return (double) tokens.get() / SCALE;
+    }
+}
@@ -0,0 +1,207 @@
+package com.learnreactiveprogramming.service;
+
+import com.learnreactiveprogramming.domain.MovieInfo;
+import com.learnreactiveprogramming.util.SingleFlight;
+import lombok.Value;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorador de MovieInfoLookup que cachea retrieveMovieInfoMonoUsingId y retrieveMovieInfoBatch.
+ * - Tamaño acotado con expulsión LRU aproximada y expiración por TTL desde la escritura.
+ * - Las lecturas no toman ningún lock: los aciertos se anotan en un buffer acotado que se aplica
+ *   al orden LRU por lotes, en las escrituras o con tryLock. Si el buffer está lleno el acceso se descarta.
+ * - Las peticiones concurrentes de un mismo id que no está en caché comparten una sola llamada en vuelo.
+ * movieInfoFlux se delega sin cachear.
+ */
+public class CachingMovieInfoService implements MovieInfoLookup {
+
+    static final int READ_BUFFER_SIZE = 128;
+    private static final int DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+
+    private final MovieInfoLookup delegate;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final Map<Long, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<Long, MovieInfo> inFlight = new SingleFlight<>();
+
+    // orden LRU de las claves, solo se toca con evictionLock
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LinkedHashMap<Long, Boolean> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+    private final Queue<Long> readBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingReads = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingMovieInfoService(MovieInfoLookup delegate, int maximumSize, Duration ttl) {
+        this(delegate, maximumSize, ttl, System::nanoTime);
+    }
+
+    CachingMovieInfoService(MovieInfoLookup delegate, int maximumSize, Duration ttl, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<MovieInfo> retrieveMovieInfoMonoUsingId(long movieId) {
+        return Mono.defer(() -> {
+            var cached = getIfPresent(movieId);
+            if (cached != null) {
+                hits.increment();
+                return Mono.just(cached);
+            }
+            misses.increment();
+            return inFlight.execute(movieId, () -> delegate.retrieveMovieInfoMonoUsingId(movieId)
+                    .doOnNext(movieInfo -> put(movieId, movieInfo)));
+        });
+    }
+
+    // solo los ids que no están en caché llegan al delegado, en una única llamada por lote
+    @Override
+    public Mono<Map<Long, MovieInfo>> retrieveMovieInfoBatch(Collection<Long> movieIds) {
+        return Mono.defer(() -> {
+            Map<Long, MovieInfo> movieInfoById = new HashMap<>();
+            List<Long> missing = new ArrayList<>();
+            for (Long movieId : movieIds) {
+                var cached = getIfPresent(movieId);
+                if (cached != null) {
+                    hits.increment();
+                    movieInfoById.put(movieId, cached);
+                } else {
+                    misses.increment();
+                    missing.add(movieId);
+                }
+            }
+            if (missing.isEmpty()) {
+                return Mono.just(movieInfoById);
+            }
+            return delegate.retrieveMovieInfoBatch(missing)
+                    .map(loaded -> {
+                        loaded.forEach(this::put);
+                        movieInfoById.putAll(loaded);
+                        return movieInfoById;
+                    });
+        });
+    }
+
+    @Override
+    public Flux<MovieInfo> movieInfoFlux() {
+        return delegate.movieInfoFlux();
+    }
+
+    private MovieInfo getIfPresent(long movieId) {
+        var entry = entries.get(movieId);
+        if (entry == null) {
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.writtenAtNanos >= ttlNanos) {
+            // remove condicional: no borra una entrada más nueva escrita entre medias
+            if (entries.remove(movieId, entry)) {
+                evictions.increment();
+            }
+            return null;
+        }
+        recordAccess(movieId);
+        return entry.movieInfo;
+    }
+
+    private void recordAccess(long movieId) {
+        if (pendingReads.get() < READ_BUFFER_SIZE) {
+            pendingReads.incrementAndGet();
+            readBuffer.offer(movieId);
+        }
+        if (pendingReads.get() >= DRAIN_THRESHOLD && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void put(long movieId, MovieInfo movieInfo) {
+        entries.put(movieId, new CacheEntry(movieInfo, nanoClock.getAsLong()));
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            accessOrder.put(movieId, Boolean.TRUE);
+            evictIfNeeded();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void invalidate(long movieId) {
+        entries.remove(movieId);
+        evictionLock.lock();
+        try {
+            accessOrder.remove(movieId);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    // con evictionLock: aplica los accesos anotados al orden LRU
+    private void drainReadBuffer() {
+        Long movieId;
+        while ((movieId = readBuffer.poll()) != null) {
+            pendingReads.decrementAndGet();
+            accessOrder.get(movieId);
+        }
+    }
+
+    // con evictionLock: accessOrder contiene todas las claves de entries (y quizá alguna ya expirada)
+    private void evictIfNeeded() {
+        var eldest = accessOrder.keySet().iterator();
+        while (accessOrder.size() > maximumSize && eldest.hasNext()) {
+            var movieId = eldest.next();
+            eldest.remove();
+            if (entries.remove(movieId) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class CacheEntry {
+        private final MovieInfo movieInfo;
+        private final long writtenAtNanos;
+
+        private CacheEntry(MovieInfo movieInfo, long writtenAtNanos) {
+            this.movieInfo = movieInfo;
+            this.writtenAtNanos = writtenAtNanos;
+        }
+    }
+
+    @Value
+    public static class CacheStats {
+        long hitCount;
+        long missCount;
+        long evictionCount;
+        int size;
+    }
+}
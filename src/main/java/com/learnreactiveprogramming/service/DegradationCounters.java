@@ -0,0 +1,51 @@
+package com.learnreactiveprogramming.service;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de una petición a getAllMovies_degradable: cuántas películas se emitieron
+ * completas y cuántas degradadas (por timeout o por error en la búsqueda de reviews).
+ */
+public class DegradationCounters {
+
+    private final LongAdder complete = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    void recordComplete() {
+        complete.increment();
+    }
+
+    void recordDegraded(Throwable cause) {
+        if (cause instanceof TimeoutException) {
+            timedOut.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    public long getCompleteCount() {
+        return complete.sum();
+    }
+
+    public long getDegradedCount() {
+        return timedOut.sum() + failed.sum();
+    }
+
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "DegradationCounters(complete=" + getCompleteCount()
+                + ", degraded=" + getDegradedCount()
+                + ", timedOut=" + getTimedOutCount()
+                + ", failed=" + getFailedCount() + ")";
+    }
+}
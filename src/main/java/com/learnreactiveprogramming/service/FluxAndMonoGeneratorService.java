@@ -1,5 +1,6 @@
 package com.learnreactiveprogramming.service;
 
+import com.learnreactiveprogramming.util.SignalTracer;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -10,14 +11,27 @@ import java.util.function.Function;
 
 public class FluxAndMonoGeneratorService {
 
+    private final SignalTracer signalTracer;
+
+    public FluxAndMonoGeneratorService() {
+        this(SignalTracer.fromSystemProperty());
+    }
+
+    /**
+     * @param signalTracer traza las señales de los flujos (sustituye a log()); SignalTracer.off() no añade coste
+     */
+    public FluxAndMonoGeneratorService(SignalTracer signalTracer) {
+        this.signalTracer = signalTracer;
+    }
+
     /**
      * Crea un Flux básico a partir de una lista de nombres
      * fromIterable() - Convierte una colección en un flujo reactivo
-     * log() - Registra todos los eventos del flujo para debugging
+     * transform(signalTracer) - Registra los eventos del flujo para debugging (sustituye a log())
      */
     public Flux<String> namesFlux() {
         return Flux.fromIterable(List.of("victor", "felipe", "joko", "peras"))
-                .log();
+                .transform(signalTracer.flux("namesFlux"));
     }
 
     /**
@@ -25,7 +39,7 @@ public class FluxAndMonoGeneratorService {
      * just() - Crea un Mono que emite exactamente un elemento
      */
     public Mono<String> namesMonono() {
-        return Mono.just("victor").log();
+        return Mono.just("victor").transform(signalTracer.mono("namesMono"));
     }
 
     /**
@@ -34,7 +48,8 @@ public class FluxAndMonoGeneratorService {
      */
     public Flux<String> namesFlux_map() {
         return Flux.fromIterable(List.of("victor", "felipe", "joko", "peras"))
-                .map(String::toUpperCase).log();
+                .map(String::toUpperCase)
+                .transform(signalTracer.flux("namesFlux_map"));
     }
 
     /**
@@ -64,7 +79,7 @@ public class FluxAndMonoGeneratorService {
         return Flux.fromIterable(List.of("vi", "fe"))
                 .map(String::toUpperCase)
                 .flatMap(this::splitString) // Cada string se convierte en un Flux de caracteres
-                .log();
+                .transform(signalTracer.flux("namesFlux_flatmap"));
     }
 
     /**
@@ -84,7 +99,7 @@ public class FluxAndMonoGeneratorService {
         return Flux.fromIterable(List.of("vi", "fe"))
                 .map(String::toUpperCase)
                 .flatMap(this::splitString_async)
-                .log();
+                .transform(signalTracer.flux("namesFlux_flatmap_async"));
     }
 
     /**
@@ -95,7 +110,7 @@ public class FluxAndMonoGeneratorService {
         return Flux.fromIterable(List.of("vi", "fe"))
                 .map(String::toUpperCase)
                 .concatMap(this::splitString_async)
-                .log();
+                .transform(signalTracer.flux("namesFlux_concatmap"));
     }
 
     /**
@@ -142,7 +157,7 @@ public class FluxAndMonoGeneratorService {
         return Flux.fromIterable(List.of("vi", "fe"))
                 .transform(filterMap) // Aplica la función de transformación
                 .flatMap(this::splitString)
-                .log();
+                .transform(signalTracer.flux("namesFlux_transform"));
     }
 
     /**
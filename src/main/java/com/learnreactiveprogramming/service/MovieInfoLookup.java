@@ -0,0 +1,21 @@
+package com.learnreactiveprogramming.service;
+
+import com.learnreactiveprogramming.domain.MovieInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Consultas reactivas de MovieInfo que usa MovieReactiveService.
+ * Permite decorarlas (p. ej. CachingMovieInfoService) sin heredar de MovieInfoService.
+ */
+public interface MovieInfoLookup {
+
+    Flux<MovieInfo> movieInfoFlux();
+
+    Mono<MovieInfo> retrieveMovieInfoMonoUsingId(long movieId);
+
+    Mono<Map<Long, MovieInfo>> retrieveMovieInfoBatch(Collection<Long> movieIds);
+}
@@ -1,36 +1,122 @@
 package com.learnreactiveprogramming.service;
 
 import com.learnreactiveprogramming.domain.MovieInfo;
+import com.learnreactiveprogramming.store.MappedMovieCatalog;
+import com.learnreactiveprogramming.util.BlockingSchedulers;
+import com.learnreactiveprogramming.util.PagedFlux;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.learnreactiveprogramming.util.CommonUtil.delay;
 
-public class MovieInfoService {
+public class MovieInfoService implements MovieInfoLookup {
 
+    public static final int DEFAULT_MIN_PAGE_SIZE = 16;
+    public static final int DEFAULT_MAX_PAGE_SIZE = 1024;
 
-    // reactive
+    private final Scheduler blockingScheduler;
+    private final MappedMovieCatalog catalog;
+    private int minPageSize = DEFAULT_MIN_PAGE_SIZE;
+    private int maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+
+    public MovieInfoService() {
+        this(BlockingSchedulers.fromSystemProperty());
+    }
+
+    /**
+     * @param blockingScheduler scheduler donde se ejecutan movieList y retrieveMovieUsingId
+     *                          cuando se usan desde las variantes async
+     */
+    public MovieInfoService(Scheduler blockingScheduler) {
+        this(null, blockingScheduler);
+    }
+
+    /**
+     * @param catalog si no es null, los MovieInfo se leen de este catálogo mapeado en memoria
+     */
+    public MovieInfoService(MappedMovieCatalog catalog, Scheduler blockingScheduler) {
+        this.catalog = catalog;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    public MovieInfoService(MappedMovieCatalog catalog) {
+        this(catalog, BlockingSchedulers.fromSystemProperty());
+    }
+
+    /**
+     * Tamaño de página de movieInfoFlux: cada página pide tanto como la demanda pendiente,
+     * pero nunca menos de minPageSize ni más de maxPageSize.
+     */
+    public void setPageSize(int minPageSize, int maxPageSize) {
+        this.minPageSize = minPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    // reactive - el catálogo se lee por páginas según la demanda del suscriptor
+    @Override
     public Flux<MovieInfo> movieInfoFlux() {
+        if (catalog != null) {
+            return catalog.movieInfoFlux();
+        }
+        return PagedFlux.create(this::fetchMovieInfoPage, minPageSize, maxPageSize);
+    }
+
+    /**
+     * Una página del catálogo (offset y limit como en una consulta paginada a la BD o a un API REST).
+     */
+    protected List<MovieInfo> fetchMovieInfoPage(long offset, int limit) {
         var movieInfoList = List.of(
                 new MovieInfo(1L, 100L, "Batman Begins", 2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")),
                 new MovieInfo(2L, 101L, "The Dark Knight", 2008, List.of("Christian Bale", "HeathLedger"), LocalDate.parse("2008-07-18")),
                 new MovieInfo(3L, 102L, "Dark Knight Rises", 2008, List.of("Christian Bale", "Tom Hardy"), LocalDate.parse("2012-07-20")));
-        return Flux.fromIterable(movieInfoList);
+        var from = (int) Math.min(offset, movieInfoList.size());
+        var to = (int) Math.min((long) from + limit, movieInfoList.size());
+        return movieInfoList.subList(from, to);
     }
 
 
     // reactive
+    @Override
     public Mono<MovieInfo> retrieveMovieInfoMonoUsingId(long movieId) {
+        if (catalog != null) {
+            return Mono.defer(() -> Mono.justOrEmpty(catalog.findById(movieId)));
+        }
         var movie = new MovieInfo(movieId, 100L, "Batman Begins", 2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"));
         return Mono.just(movie);
     }
 
+    /**
+     * Recupera varios MovieInfo en una sola llamada, agrupados por movieId.
+     * Los ids que no existen no aparecen en el mapa.
+     */
+    @Override
+    public Mono<Map<Long, MovieInfo>> retrieveMovieInfoBatch(Collection<Long> movieIds) {
+        return Mono.fromSupplier(() -> {
+            Map<Long, MovieInfo> movieInfoById = new HashMap<>();
+            for (Long movieId : movieIds) {
+                if (catalog != null) {
+                    catalog.findById(movieId).ifPresent(movieInfo -> movieInfoById.put(movieId, movieInfo));
+                } else {
+                    movieInfoById.put(movieId, new MovieInfo(movieId, 100L, "Batman Begins", 2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")));
+                }
+            }
+            return movieInfoById;
+        });
+    }
+
     // no reactive
     public List<MovieInfo> movieList() {
         delay(1000);
+        if (catalog != null) {
+            return catalog.page(0, catalog.size());
+        }
         return List.of(
                 new MovieInfo(1L, 100L, "Batman Begins", 2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")),
                 new MovieInfo(2L, 101L, "The Dark Knight", 2008, List.of("Christian Bale", "HeathLedger"), LocalDate.parse("2008-07-18")),
@@ -41,6 +127,22 @@ public class MovieInfoService {
     // no reactive
     public MovieInfo retrieveMovieUsingId(long movieId) {
         delay(1000);
+        if (catalog != null) {
+            return catalog.findById(movieId).orElse(null);
+        }
         return new MovieInfo(movieId, 100L, "Batman Begins", 2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"));
     }
+
+    // reactive - ejecuta movieList en el scheduler de llamadas bloqueantes
+    public Flux<MovieInfo> movieListAsync() {
+        return Mono.fromCallable(this::movieList)
+                .subscribeOn(blockingScheduler)
+                .flatMapIterable(movieInfoList -> movieInfoList);
+    }
+
+    // reactive - ejecuta retrieveMovieUsingId en el scheduler de llamadas bloqueantes
+    public Mono<MovieInfo> retrieveMovieUsingIdAsync(long movieId) {
+        return Mono.fromCallable(() -> retrieveMovieUsingId(movieId))
+                .subscribeOn(blockingScheduler);
+    }
 }
@@ -2,83 +2,456 @@ package com.learnreactiveprogramming.service;
 
 import com.learnreactiveprogramming.domain.Movie;
 import com.learnreactiveprogramming.domain.MovieInfo;
+import com.learnreactiveprogramming.domain.MovieSummary;
 import com.learnreactiveprogramming.domain.Review;
+import com.learnreactiveprogramming.domain.ReviewSummary;
+import com.learnreactiveprogramming.domain.ReviewUpdate;
+import com.learnreactiveprogramming.exception.CircuitBreakerOpenException;
 import com.learnreactiveprogramming.exception.MovieException;
+import com.learnreactiveprogramming.exception.NetworkException;
+import com.learnreactiveprogramming.exception.ServiceException;
+import com.learnreactiveprogramming.metrics.MeterRegistry;
+import com.learnreactiveprogramming.metrics.PipelineMetrics;
+import com.learnreactiveprogramming.metrics.PipelineMetrics.Stage;
+import com.learnreactiveprogramming.resilience.CircuitBreaker;
+import com.learnreactiveprogramming.resilience.CircuitBreakerConfig;
+import com.learnreactiveprogramming.resilience.Deadline;
+import com.learnreactiveprogramming.resilience.Hedger;
+import com.learnreactiveprogramming.resilience.RetryBudget;
+import com.learnreactiveprogramming.util.SignalTracer;
+import com.learnreactiveprogramming.util.SingleFlight;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 
 @Slf4j
 public class MovieReactiveService {
 
-    private MovieInfoService movieInfoService;
+    public static final int DEFAULT_REVIEW_BATCH_SIZE = 500;
+    public static final Duration DEFAULT_REVIEW_BATCH_WAIT = Duration.ofMillis(50);
+    public static final int DEFAULT_REVENUE_CONCURRENCY = 16;
+    public static final Duration DEFAULT_REVIEW_TIMEOUT = Duration.ofMillis(500);
+    public static final int DEFAULT_AGGREGATION_CONCURRENCY = 32;
+    public static final int DEFAULT_AGGREGATION_PREFETCH = 1;
+    public static final int DEFAULT_TOP_COMMENTS = 3;
+    public static final int DEFAULT_BY_IDS_BATCH_SIZE = 50;
+    public static final int DEFAULT_BY_IDS_CONCURRENCY = 4;
+
+    private MovieInfoLookup movieInfoService;
     private ReviewService reviewService;
+    private RevenueService revenueService;
+
+    private final SingleFlight<Long, Movie> movieByIdFlights = new SingleFlight<>();
+
+    @Setter
+    private SignalTracer signalTracer = SignalTracer.fromSystemProperty();
+
+    /**
+     * Backoff de los reintentos por película de getAllMovies_retry. El filtro de la spec lo fija el servicio:
+     * solo se reintenta NetworkException/ServiceException y mientras quede presupuesto en retryBudget.
+     */
+    @Setter
+    private RetryBackoffSpec reviewRetrySpec = defaultReviewRetrySpec();
+
+    @Setter
+    private RetryBudget retryBudget = new RetryBudget(0.1, 50);
+
+    @Setter
+    private CircuitBreaker reviewCircuitBreaker = new CircuitBreaker("reviewService", CircuitBreakerConfig.defaults());
+
+    @Setter
+    private CircuitBreaker movieInfoCircuitBreaker = new CircuitBreaker("movieInfoService", CircuitBreakerConfig.defaults());
+
+    /**
+     * Cobertura (hedged requests) de retrieveMovieInfoMonoUsingId en las búsquedas de una sola película
+     * (getMovieInfo, getMovieInfoById, getMovieSummaryById). null = sin cobertura.
+     */
+    @Setter
+    private Hedger movieInfoHedger;
 
-    public MovieReactiveService(MovieInfoService movieInfoService, ReviewService reviewService) {
+    // con el circuito de reviews abierto: true = Movie sin reviews, false = error inmediato
+    @Setter
+    private boolean degradeWhenReviewCircuitOpen = true;
+
+    private PipelineMetrics metrics = new PipelineMetrics(MeterRegistry.noop());
+
+    public MovieReactiveService(MovieInfoLookup movieInfoService, ReviewService reviewService) {
         this.movieInfoService = movieInfoService;
         this.reviewService = reviewService;
     }
 
+    public MovieReactiveService(MovieInfoLookup movieInfoService, ReviewService reviewService, RevenueService revenueService) {
+        this(movieInfoService, reviewService);
+        this.revenueService = revenueService;
+    }
+
+    /**
+     * Métricas de getAllMovies, getMovieInfo y getMovieInfoById (ver PipelineMetrics).
+     * Por defecto MeterRegistry.noop(), que no añade ningún operador.
+     */
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.metrics = new PipelineMetrics(meterRegistry);
+    }
+
     public Flux<Movie> getAllMovies() {
-        return movieInfoService.movieInfoFlux()
-                .doOnNext(element -> System.out.println("log-movieInfo::" + element) )
-                .doOnSubscribe(subs -> System.out.println("subs is 1::" + subs))
+        return movieInfoFlux()
+                .transform(metrics.timedFlux(Stage.MOVIE_INFO_FLUX))
+                .transform(signalTracer.flux("getAllMovies.movieInfo"))
                 .flatMap(movieInfo -> {
-                    Mono<List<Review>> reviewMonoCollect = reviewService.retrieveReviewsFlux(movieInfo.getMovieId())
-                            .collectList(); // convert collect flux to mono
+                    Mono<List<Review>> reviewMonoCollect = retrieveReviews(movieInfo.getMovieId()); // flux de reviews a mono
 
                     // reviewMonoCollect es un flujo de tipo mono que contiene un array
-                    return reviewMonoCollect.map(reviewList -> new Movie(
+                    return reviewMonoCollect.map(reviewList -> metrics.timed(Stage.ASSEMBLY, () -> new Movie(
                                     movieInfo.getMovieId(),
                                     movieInfo,
                                     reviewList
-                            )
+                            ))
                     );
                 })
                 .onErrorMap(ex -> {
                     log.error("Exception is: ", ex);
                     throw new MovieException(ex);
                 })
-                .doOnNext(element -> System.out.println("log-movie::" + element))
-                .doOnSubscribe(subs -> System.out.println("subs is::" + subs))
-                .log();
+                .transform(signalTracer.flux("getAllMovies"))
+                .transform(metrics.flux("getAllMovies"));
     }
 
+    public static RetryBackoffSpec defaultReviewRetrySpec() {
+        return Retry.backoff(3, Duration.ofMillis(100))
+                .maxBackoff(Duration.ofSeconds(2))
+                .jitter(0.5);
+    }
+
+    /**
+     * Reintenta cada búsqueda de reviews por separado (backoff exponencial con jitter) en lugar de
+     * volver a suscribirse a todo el catálogo: un fallo puntual no repite las películas ya resueltas.
+     */
     public Flux<Movie> getAllMovies_retry() {
+        return movieInfoFlux()
+                .transform(signalTracer.flux("getAllMovies_retry.movieInfo"))
+                .flatMap(movieInfo -> retrieveReviewsWithRetry(movieInfo.getMovieId())
+                        .map(reviewList -> new Movie(
+                                movieInfo.getMovieId(),
+                                movieInfo,
+                                reviewList
+                        )))
+                .onErrorMap(ex -> {
+                    log.error("Exception is: ", ex);
+                    return new MovieException(ex);
+                })
+                .transform(signalTracer.flux("getAllMovies_retry"));
+    }
+
+    private Mono<List<Review>> retrieveReviewsWithRetry(long movieId) {
+        return retrieveReviews(movieId)
+                .doOnNext(reviews -> retryBudget.recordSuccess())
+                .retryWhen(reviewRetrySpec
+                        .filter(ex -> isRetryable(ex) && retryBudget.tryAcquire())
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private static boolean isRetryable(Throwable ex) {
+        return ex instanceof NetworkException || ex instanceof ServiceException;
+    }
+
+    /*
+     * Todas las llamadas a MovieInfoService, ReviewService y RevenueService pasan por Deadline: con un
+     * Deadline en el Context cada una recibe el tiempo que le queda a la petición. El Deadline va fuera
+     * del circuit breaker, así que agotar el presupuesto del llamador no cuenta como fallo del servicio.
+     */
+    private Flux<MovieInfo> movieInfoFlux() {
         return movieInfoService.movieInfoFlux()
-                .doOnNext(element -> System.out.println("log-movieInfo::" + element) )
-                .doOnSubscribe(subs -> System.out.println("subs is 1::" + subs))
-                .flatMap(movieInfo -> {
-                    Mono<List<Review>> reviewMonoCollect = reviewService.retrieveReviewsFlux(movieInfo.getMovieId())
-                            .collectList(); // convert collect flux to mono
+                .transform(Deadline.flux("movieInfoService.movieInfoFlux"));
+    }
 
-                    // reviewMonoCollect es un flujo de tipo mono que contiene un array
-                    return reviewMonoCollect.map(reviewList -> new Movie(
-                                    movieInfo.getMovieId(),
-                                    movieInfo,
-                                    reviewList
-                            )
-                    );
+    /**
+     * Reviews de una película a través del circuit breaker de ReviewService.
+     * Si el circuito está abierto no se llama al servicio: se degrada a una lista vacía
+     * (o se falla al momento si degradeWhenReviewCircuitOpen es false).
+     */
+    private Mono<List<Review>> retrieveReviews(long movieId) {
+        return fetchReviews(movieId)
+                .onErrorResume(CircuitBreakerOpenException.class, ex -> degradeWhenReviewCircuitOpen
+                        ? Mono.just(List.of())
+                        : Mono.error(ex));
+    }
+
+    // como retrieveReviews pero sin degradar: con el circuito abierto falla con CircuitBreakerOpenException
+    private Mono<List<Review>> fetchReviews(long movieId) {
+        return protectReviews(Flux.defer(() -> reviewService.retrieveReviewsFlux(movieId)).collectList());
+    }
+
+    // el timeout va dentro del circuit breaker: una llamada que no responde a tiempo cuenta como fallo
+    private Mono<List<Review>> fetchReviews(long movieId, Duration timeout) {
+        return protectReviews(Flux.defer(() -> reviewService.retrieveReviewsFlux(movieId)).collectList()
+                .timeout(timeout));
+    }
+
+    private Mono<List<Review>> protectReviews(Mono<List<Review>> call) {
+        return reviewCircuitBreaker.protect(call)
+                .transform(Deadline.mono("reviewService.retrieveReviewsFlux"))
+                .transform(metrics.timedMono(Stage.REVIEWS));
+    }
+
+    private Mono<MovieInfo> retrieveMovieInfo(long movieId) {
+        Mono<MovieInfo> call = movieInfoHedger == null
+                ? Mono.defer(() -> movieInfoService.retrieveMovieInfoMonoUsingId(movieId))
+                : movieInfoHedger.hedge(() -> movieInfoService.retrieveMovieInfoMonoUsingId(movieId));
+        return movieInfoCircuitBreaker.protect(call)
+                .transform(Deadline.mono("movieInfoService.retrieveMovieInfoMonoUsingId"))
+                .transform(metrics.timedMono(Stage.MOVIE_INFO_BY_ID));
+    }
+
+    public Flux<Movie> getAllMovies_ordered() {
+        return getAllMovies_ordered(DEFAULT_AGGREGATION_CONCURRENCY, DEFAULT_AGGREGATION_PREFETCH);
+    }
+
+    public Flux<Movie> getAllMovies_ordered(int maxConcurrency, int prefetch) {
+        return Flux.defer(() -> getAllMovies_ordered(maxConcurrency, prefetch, new ReorderBufferStats()));
+    }
+
+    /**
+     * Como getAllMovies pero conserva el orden del catálogo (flatMapSequential): las reviews se buscan
+     * en paralelo, con como máximo maxConcurrency búsquedas en vuelo, y los resultados que llegan antes
+     * de tiempo esperan en un buffer de reordenación.
+     *
+     * @param prefetch elementos que se piden a cada búsqueda interna
+     * @param stats    tamaño del buffer de reordenación de esta petición
+     */
+    public Flux<Movie> getAllMovies_ordered(int maxConcurrency, int prefetch, ReorderBufferStats stats) {
+        return movieInfoFlux()
+                .index()
+                .flatMapSequential(indexed -> {
+                    var movieInfo = indexed.getT2();
+                    return retrieveReviews(movieInfo.getMovieId())
+                            .map(reviewList -> Tuples.of(
+                                    stats.onResolved(indexed.getT1()),
+                                    new Movie(movieInfo.getMovieId(), movieInfo, reviewList)));
+                }, maxConcurrency, prefetch)
+                .doOnNext(resolved -> stats.onEmitted(resolved.getT1()))
+                .map(Tuple2::getT2)
+                .doFinally(signal -> {
+                    stats.onTerminated();
+                    log.debug("getAllMovies_ordered {}: {}", signal, stats);
                 })
+                .onErrorMap(ex -> {
+                    log.error("Exception is: ", ex);
+                    return new MovieException(ex);
+                });
+    }
+
+    public Flux<Movie> getAllMovies_parallel(UnaryOperator<Movie> enrichment) {
+        return getAllMovies_parallel(Schedulers.DEFAULT_POOL_SIZE, false, enrichment);
+    }
+
+    /**
+     * Reparte el catálogo en parallelism raíles (ParallelFlux) sobre Schedulers.parallel() y aplica
+     * enrichment en cada raíl, para que el trabajo de CPU por película (puntuaciones, agregados de
+     * rating, cálculos de revenue) escale con el número de cores. enrichment no debe bloquear.
+     *
+     * @param sortByMovieId true para emitir ordenado por movieId (espera a tener todos los resultados),
+     *                      false para mezclar los raíles según van terminando
+     */
+    public Flux<Movie> getAllMovies_parallel(int parallelism, boolean sortByMovieId, UnaryOperator<Movie> enrichment) {
+        // las reviews llegan en el hilo de ReviewService; runOn después del fetch lleva enrichment a los raíles
+        var rails = movieInfoFlux()
+                .flatMap(movieInfo -> retrieveReviews(movieInfo.getMovieId())
+                        .map(reviewList -> new Movie(movieInfo.getMovieId(), movieInfo, reviewList)))
+                .parallel(parallelism)
+                .runOn(Schedulers.parallel())
+                .map(enrichment);
+        var movies = sortByMovieId
+                ? rails.sorted(Comparator.comparingLong(Movie::getMovieId))
+                : rails.sequential();
+        return movies.onErrorMap(ex -> {
+            log.error("Exception is: ", ex);
+            return new MovieException(ex);
+        });
+    }
+
+    /**
+     * Variante de getAllMovies que no materializa las reviews en una lista: cada película se emite
+     * con un ReviewSummary calculado según llegan las reviews (memoria constante por película).
+     */
+    public Flux<MovieSummary> getAllMovieSummaries(int topComments, boolean ratingHistogram) {
+        return movieInfoFlux()
+                .flatMap(movieInfo -> summarizeReviews(movieInfo.getMovieId(), topComments, ratingHistogram)
+                        .map(summary -> new MovieSummary(movieInfo.getMovieId(), movieInfo, summary)))
+                .onErrorMap(ex -> {
+                    log.error("Exception is: ", ex);
+                    return new MovieException(ex);
+                });
+    }
+
+    public Flux<MovieSummary> getAllMovieSummaries() {
+        return getAllMovieSummaries(DEFAULT_TOP_COMMENTS, false);
+    }
+
+    public Mono<MovieSummary> getMovieSummaryById(long movieId) {
+        return retrieveMovieInfo(movieId)
+                .flatMap(info -> summarizeReviews(info.getMovieId(), DEFAULT_TOP_COMMENTS, false)
+                        .map(summary -> new MovieSummary(info.getMovieId(), info, summary)));
+    }
+
+    private Mono<ReviewSummary> summarizeReviews(long movieId, int topComments, boolean ratingHistogram) {
+        var summary = Flux.defer(() -> reviewService.retrieveReviewsFlux(movieId))
+                .reduceWith(() -> new ReviewSummaryAccumulator(topComments, ratingHistogram), ReviewSummaryAccumulator::add)
+                .map(ReviewSummaryAccumulator::toSummary);
+        return reviewCircuitBreaker.protect(summary)
+                .transform(Deadline.mono("reviewService.retrieveReviewsFlux"))
+                .onErrorResume(CircuitBreakerOpenException.class, ex -> degradeWhenReviewCircuitOpen
+                        ? Mono.just(ReviewSummary.empty())
+                        : Mono.error(ex));
+    }
+
+    public Flux<Movie> getAllMovies_degradable() {
+        return getAllMovies_degradable(DEFAULT_REVIEW_TIMEOUT, new DegradationCounters());
+    }
+
+    /**
+     * Como getAllMovies, pero un fallo o timeout al buscar las reviews de una película no corta el flujo:
+     * esa película se emite con degraded = true y sin reviews, y se sigue con el resto del catálogo.
+     * Los timeouts cuentan como fallos en el circuit breaker de reviews; con el circuito abierto las
+     * películas salen degradadas al momento, sin esperar reviewTimeout (no aplica degradeWhenReviewCircuitOpen). Los errores de movieInfoFlux sí terminan el flujo con MovieException.
+     *
+     * @param reviewTimeout tiempo máximo por película para obtener sus reviews
+     * @param counters      contadores de esta petición (películas completas / degradadas)
+     */
+    public Flux<Movie> getAllMovies_degradable(Duration reviewTimeout, DegradationCounters counters) {
+        return movieInfoFlux()
+                .flatMap(movieInfo -> fetchReviews(movieInfo.getMovieId(), reviewTimeout)
+                        .map(reviewList -> {
+                            counters.recordComplete();
+                            return new Movie(movieInfo.getMovieId(), movieInfo, reviewList);
+                        })
+                        .onErrorResume(ex -> {
+                            log.warn("Degrading movie {}: {}", movieInfo.getMovieId(), ex.toString());
+                            counters.recordDegraded(ex);
+                            return Mono.just(new Movie(movieInfo.getMovieId(), movieInfo, List.of(), null, true));
+                        }))
                 .onErrorMap(ex -> {
                     log.error("Exception is: ", ex);
                     return new MovieException(ex);
                 })
-                .doOnNext(element -> System.out.println("log-movie::" + element))
-                .doOnSubscribe(subs -> System.out.println("subs is::" + subs))
-                .retry(3)
-                .log();
+                .doFinally(signal -> log.debug("getAllMovies_degradable {}: {}", signal, counters));
+    }
+
+    public Flux<Movie> getAllMovies_batched() {
+        return getAllMovies_batched(DEFAULT_REVIEW_BATCH_SIZE, DEFAULT_REVIEW_BATCH_WAIT);
+    }
+
+    /**
+     * Agrupa el catálogo en lotes de como máximo batchSize películas (o lo que llegue en maxBatchWait)
+     * y hace una sola llamada a ReviewService por lote en lugar de una por película.
+     */
+    public Flux<Movie> getAllMovies_batched(int batchSize, Duration maxBatchWait) {
+        return movieInfoFlux()
+                .bufferTimeout(batchSize, maxBatchWait)
+                .concatMap(this::toMovies)
+                .onErrorMap(ex -> {
+                    log.error("Exception is: ", ex);
+                    return new MovieException(ex);
+                });
+    }
+
+    private Flux<Movie> toMovies(List<MovieInfo> batch) {
+        var movieIds = batch.stream()
+                .map(MovieInfo::getMovieId)
+                .collect(Collectors.toList());
+        return retrieveReviewsBatch(movieIds)
+                .flatMapIterable(reviewsByMovieId -> batch.stream()
+                        .map(movieInfo -> new Movie(
+                                movieInfo.getMovieId(),
+                                movieInfo,
+                                reviewsByMovieId.getOrDefault(movieInfo.getMovieId(), List.of())))
+                        .collect(Collectors.toList()));
+    }
+
+    private Mono<Map<Long, List<Review>>> retrieveReviewsBatch(List<Long> movieIds) {
+        return reviewCircuitBreaker.protect(Mono.defer(() -> reviewService.retrieveReviewsBatch(movieIds)))
+                .transform(Deadline.mono("reviewService.retrieveReviewsBatch"));
+    }
+
+    private Mono<Map<Long, MovieInfo>> retrieveMovieInfoBatch(List<Long> movieIds) {
+        return movieInfoCircuitBreaker.protect(Mono.defer(() -> movieInfoService.retrieveMovieInfoBatch(movieIds)))
+                .transform(Deadline.mono("movieInfoService.retrieveMovieInfoBatch"));
+    }
+
+    public Flux<Movie> getMoviesByIds(Collection<Long> movieIds) {
+        return getMoviesByIds(movieIds, DEFAULT_BY_IDS_BATCH_SIZE, DEFAULT_BY_IDS_CONCURRENCY);
+    }
+
+    /**
+     * Búsqueda de varias películas a la vez: los ids se deduplican y se agrupan en lotes de batchSize.
+     * Por cada lote se hace una llamada a MovieInfoService y otra a ReviewService en paralelo (zip), con
+     * como máximo maxConcurrency lotes en vuelo. Las películas se emiten en el orden en que se pidieron
+     * (primera aparición de cada id); los ids que no existen se omiten.
+     */
+    public Flux<Movie> getMoviesByIds(Collection<Long> movieIds, int batchSize, int maxConcurrency) {
+        return Flux.defer(() -> Flux.fromIterable(new ArrayList<>(new LinkedHashSet<>(movieIds))))
+                .buffer(batchSize)
+                .flatMapSequential(this::toMoviesByIds, maxConcurrency)
+                .onErrorMap(ex -> {
+                    log.error("Exception is: ", ex);
+                    return new MovieException(ex);
+                });
+    }
+
+    private Flux<Movie> toMoviesByIds(List<Long> batch) {
+        return Mono.zip(retrieveMovieInfoBatch(batch), retrieveReviewsBatch(batch))
+                .flatMapIterable(tuple -> {
+                    var movieInfoById = tuple.getT1();
+                    var reviewsByMovieId = tuple.getT2();
+                    var movies = new ArrayList<Movie>(batch.size());
+                    for (Long movieId : batch) {
+                        var movieInfo = movieInfoById.get(movieId);
+                        if (movieInfo != null) {
+                            movies.add(new Movie(movieId, movieInfo, reviewsByMovieId.getOrDefault(movieId, List.of())));
+                        }
+                    }
+                    return movies;
+                });
+    }
+
+    public Flux<Movie> getAllMovies_withRevenue() {
+        return getAllMovies_withRevenue(DEFAULT_REVENUE_CONCURRENCY);
+    }
+
+    /**
+     * Enriquece cada Movie con su Revenue, con como máximo maxConcurrency llamadas a RevenueService
+     * en vuelo. getRevenueMono corre en el scheduler de RevenueService, así que el pipeline no se bloquea.
+     */
+    public Flux<Movie> getAllMovies_withRevenue(int maxConcurrency) {
+        return getAllMovies()
+                .flatMap(movie -> Mono.defer(() -> revenueService.getRevenueMono(movie.getMovieId()))
+                        .transform(Deadline.mono("revenueService.getRevenueMono"))
+                        .map(movie::withRevenue), maxConcurrency);
     }
 
     public Mono<Movie> getMovieInfo(long movieId) {
-        var movieInfoMono = movieInfoService.retrieveMovieInfoMonoUsingId(movieId);
-        var reviewsFluxToMono = reviewService.retrieveReviewsFlux(movieId).collectList();
+        var movieInfoMono = retrieveMovieInfo(movieId);
+        var reviewsFluxToMono = retrieveReviews(movieId);
         return movieInfoMono.zipWith(reviewsFluxToMono, (movieInfo, reviews) -> {
-            return new Movie(movieInfo, reviews);
-        });
+            return metrics.timed(Stage.ASSEMBLY, () -> new Movie(movieInfo, reviews));
+        }).transform(metrics.mono("getMovieInfo"));
     }
 
     public Mono<Movie> getMovieInfoException(long movieId) {
@@ -93,12 +466,61 @@ public class MovieReactiveService {
                 .flatMap(movieInfo -> Flux.error(new RuntimeException("Error Occurred.")));
     }
 
+    /**
+     * Flujo en caliente de una película: primero la Movie actual y después una Movie nueva por cada review
+     * que llega a ReviewService.liveReviewUpdates, sin volver a pedir la película.
+     * La suscripción en vivo se abre antes de leer la Movie inicial, y esa lectura es propia de este suscriptor
+     * (sin single-flight), así que no se pierde ninguna review guardada después de suscribirse. Las reviews en
+     * vivo que ya estaban en la Movie (sequence &lt;= reviewList.size()) se descartan.
+     * liveReviewUpdates descarta updates si este suscriptor se retrasa (LATEST): cuando llega un sequence
+     * que deja un hueco se vuelve a leer la Movie completa y se sigue desde ella, así que reviewList nunca
+     * tiene huecos aunque se salten Movies intermedias.
+     */
+    public Flux<Movie> getMovieUpdates(long movieId) {
+        return Flux.defer(() -> {
+            var liveReviews = reviewService.liveReviewUpdates(movieId).publish();
+            var connection = liveReviews.connect();
+            return loadMovie(movieId)
+                    .flatMapMany(initial -> {
+                        var current = new AtomicReference<>(initial);
+                        return liveReviews
+                                .concatMap(update -> applyReviewUpdate(movieId, current, update))
+                                .startWith(initial);
+                    })
+                    .doFinally(signal -> connection.dispose());
+        });
+    }
+
+    // se llama en serie (concatMap): current es la última Movie emitida
+    private Mono<Movie> applyReviewUpdate(long movieId, AtomicReference<Movie> current, ReviewUpdate update) {
+        var expected = current.get().getReviewList().size() + 1L;
+        if (update.getSequence() < expected) {
+            return Mono.empty();
+        }
+        if (update.getSequence() == expected) {
+            return Mono.just(current.updateAndGet(movie -> movie.withReview(update.getReview())));
+        }
+        log.debug("Gap in live reviews of movie {}: expected {} but got {}, reloading", movieId, expected, update.getSequence());
+        return loadMovie(movieId)
+                .map(reloaded -> reloaded.getReviewList().size() + 1L == update.getSequence()
+                        ? reloaded.withReview(update.getReview())
+                        : reloaded)
+                .doOnNext(current::set);
+    }
+
+    /**
+     * Los suscriptores concurrentes de un mismo movieId comparten una sola llamada a
+     * MovieInfoService y ReviewService (single-flight); no se retiene nada al terminar.
+     * La llamada compartida usa el Deadline del Context del primer suscriptor.
+     */
     public Mono<Movie> getMovieInfoById(long movieId) {
-        return movieInfoService.retrieveMovieInfoMonoUsingId(movieId)
-                .flatMap(info -> {
-                    var reviewsToMono = reviewService.retrieveReviewsFlux(info.getMovieId())
-                            .collectList();
-                    return reviewsToMono.map(reviews -> new Movie(info.getMovieId(), info, reviews));
-                });
+        return movieByIdFlights.execute(movieId, () -> loadMovie(movieId))
+                .transform(metrics.mono("getMovieInfoById"));
+    }
+
+    private Mono<Movie> loadMovie(long movieId) {
+        return retrieveMovieInfo(movieId)
+                .flatMap(info -> retrieveReviews(info.getMovieId())
+                        .map(reviews -> metrics.timed(Stage.ASSEMBLY, () -> new Movie(info.getMovieId(), info, reviews))));
     }
 }
@@ -0,0 +1,60 @@
+package com.learnreactiveprogramming.service;
+
+/**
+ * Buffer de reordenación de una petición a getAllMovies_ordered: películas ya resueltas que esperan
+ * a que termine una anterior del catálogo para poder emitirse. Las que llegan en orden no cuentan.
+ * Sirve para dimensionar memoria.
+ */
+public class ReorderBufferStats {
+
+    // estado protegido por this, para que la comprobación de onResolved y el alta en el buffer
+    // sean atómicas respecto a onEmitted
+    // películas ya emitidas; la siguiente en orden es la de índice emitted
+    private long emitted;
+    private long buffered;
+    private long maxBuffered;
+    private long outOfOrder;
+
+    // true si la película de posición index tiene que esperar en el buffer
+    synchronized boolean onResolved(long index) {
+        if (index == emitted) {
+            return false;
+        }
+        outOfOrder++;
+        buffered++;
+        maxBuffered = Math.max(maxBuffered, buffered);
+        return true;
+    }
+
+    synchronized void onEmitted(boolean waited) {
+        emitted++;
+        if (waited) {
+            buffered--;
+        }
+    }
+
+    // cancelación o error: lo que quedaba en el buffer se descarta
+    synchronized void onTerminated() {
+        buffered = 0;
+    }
+
+    public synchronized long getBuffered() {
+        return buffered;
+    }
+
+    public synchronized long getMaxBuffered() {
+        return maxBuffered;
+    }
+
+    // películas que tuvieron que esperar en el buffer
+    public synchronized long getOutOfOrderCount() {
+        return outOfOrder;
+    }
+
+    @Override
+    public String toString() {
+        return "ReorderBufferStats(buffered=" + getBuffered()
+                + ", maxBuffered=" + getMaxBuffered()
+                + ", outOfOrder=" + getOutOfOrderCount() + ")";
+    }
+}
@@ -1,11 +1,44 @@
 package com.learnreactiveprogramming.service;
 
 import com.learnreactiveprogramming.domain.Revenue;
+import com.learnreactiveprogramming.util.BlockingSchedulers;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import static com.learnreactiveprogramming.util.CommonUtil.delay;
 
 public class RevenueService {
 
+    public static final int DEFAULT_THREAD_CAP = 10 * Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_QUEUED_TASK_CAP = 100_000;
+
+    private final Scheduler scheduler;
+
+    public RevenueService() {
+        this(BlockingSchedulers.fromSystemProperty());
+    }
+
+    /**
+     * @param scheduler scheduler donde se ejecuta la llamada bloqueante de getRevenueMono
+     */
+    public RevenueService(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public static RevenueService withDedicatedScheduler() {
+        return withDedicatedScheduler(DEFAULT_THREAD_CAP, DEFAULT_QUEUED_TASK_CAP);
+    }
+
+    /**
+     * Crea un RevenueService con su propio pool bounded-elastic, para que las llamadas lentas
+     * de revenue no compitan con el resto de tareas bloqueantes de la aplicación.
+     */
+    public static RevenueService withDedicatedScheduler(int threadCap, int queuedTaskCap) {
+        return new RevenueService(Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "revenue"));
+    }
+
+    // no reactive
     public Revenue getRevenue(Long movieId){
         delay(1000); // simulating a network call ( DB or Rest call)
         return Revenue.builder()
@@ -15,4 +48,10 @@ public class RevenueService {
                 .build();
 
     }
+
+    // reactive - la llamada bloqueante nunca corre en un hilo parallel o event-loop
+    public Mono<Revenue> getRevenueMono(long movieId) {
+        return Mono.fromCallable(() -> getRevenue(movieId))
+                .subscribeOn(scheduler);
+    }
 }
@@ -0,0 +1,105 @@
+package com.learnreactiveprogramming.service;
+
+import com.learnreactiveprogramming.domain.Review;
+import com.learnreactiveprogramming.domain.ReviewUpdate;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reparto en caliente de las reviews nuevas por película.
+ * - Cada movie_id con suscriptores tiene su propio Sinks.Many multicast; publish solo llega a los
+ *   suscriptores de esa película y, si no hay ninguno, no hace nada.
+ * - Cada suscriptor tiene su propio buffer acotado y recibe las reviews en deliveryScheduler, nunca en el hilo
+ *   que publica: uno lento no frena a los demás ni al escritor. Al llenarse el buffer se aplica su SlowConsumerPolicy;
+ *   además del buffer, cada suscriptor tiene como mucho una review más en camino a deliveryScheduler.
+ * - El sink de una película se elimina cuando se va su último suscriptor.
+ * Solo se emiten las reviews publicadas después de suscribirse.
+ */
+public class ReviewBroadcaster {
+
+    public enum SlowConsumerPolicy {
+        // con el buffer lleno se descartan las reviews nuevas
+        DROP,
+        // con el buffer lleno se descartan las más antiguas y se conservan las más recientes
+        LATEST
+    }
+
+    private final ConcurrentHashMap<Long, Topic> topics = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final Scheduler deliveryScheduler;
+
+    public ReviewBroadcaster() {
+        this(Schedulers.parallel());
+    }
+
+    /**
+     * @param deliveryScheduler donde se ejecuta el onNext de cada suscriptor
+     */
+    public ReviewBroadcaster(Scheduler deliveryScheduler) {
+        this.deliveryScheduler = deliveryScheduler;
+    }
+
+    public Flux<Review> reviews(long movieId, SlowConsumerPolicy policy, int bufferSize) {
+        return updates(movieId, policy, bufferSize).map(ReviewUpdate::getReview);
+    }
+
+    public Flux<ReviewUpdate> updates(long movieId, SlowConsumerPolicy policy, int bufferSize) {
+        var overflowStrategy = policy == SlowConsumerPolicy.DROP
+                ? BufferOverflowStrategy.DROP_LATEST
+                : BufferOverflowStrategy.DROP_OLDEST;
+        return Flux.defer(() -> {
+            var topic = topics.compute(movieId, (id, current) -> {
+                var subscribed = current == null ? new Topic() : current;
+                subscribed.subscribers++;
+                return subscribed;
+            });
+            return topic.sink.asFlux()
+                    .doFinally(signal -> topics.computeIfPresent(movieId, (id, current) ->
+                            --current.subscribers == 0 ? null : current));
+        }).onBackpressureBuffer(bufferSize, update -> dropped.increment(), overflowStrategy)
+                // prefetch 1: lo pendiente espera en el buffer, donde se aplica la política, y no en la cola de publishOn
+                .publishOn(deliveryScheduler, 1);
+    }
+
+    /**
+     * @param sequence posición de la review en las reviews de su película (ver ReviewUpdate)
+     */
+    public void publish(Review review, long sequence) {
+        var topic = topics.get(review.getMovie_id());
+        if (topic != null) {
+            synchronized (topic) {
+                topic.sink.tryEmitNext(new ReviewUpdate(sequence, review));
+            }
+        }
+    }
+
+    // termina el flujo de todos los suscriptores actuales
+    public void complete() {
+        topics.forEach((movieId, topic) -> {
+            synchronized (topic) {
+                topic.sink.tryEmitComplete();
+            }
+        });
+    }
+
+    public int movieCount() {
+        return topics.size();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private static final class Topic {
+        // directBestEffort: la demanda la da el onBackpressureBuffer de cada suscriptor, que nunca se agota
+        private final Sinks.Many<ReviewUpdate> sink = Sinks.many().multicast().directBestEffort();
+        // protegido por el lock del ConcurrentHashMap (compute / computeIfPresent)
+        private int subscribers;
+    }
+}
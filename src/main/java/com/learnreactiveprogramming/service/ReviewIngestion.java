@@ -0,0 +1,237 @@
+package com.learnreactiveprogramming.service;
+
+import com.learnreactiveprogramming.domain.Review;
+import com.learnreactiveprogramming.exception.BacklogFullException;
+import com.learnreactiveprogramming.store.ReviewIndex;
+import com.learnreactiveprogramming.store.ReviewLog;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ingestión write-behind de reviews.
+ * - tryIngest deja la review en un Sinks.Many con un buffer acotado y vuelve al momento; con backlogCapacity
+ *   reviews aceptadas y aún sin escribir devuelve FAIL_OVERFLOW, que es la señal para que el productor frene.
+ *   El límite se comprueba en tryIngest y es exacto: la cola del sink (Queues redondea su capacidad a potencia
+ *   de dos) y el prefetch del escritor nunca llegan a tener más.
+ * - Un único hilo escritor agrupa las reviews en lotes (maxBatchSize o maxBatchDelay, lo que llegue antes),
+ *   añade cada lote al ReviewLog con un solo fsync (group commit) y después lo publica en el ReviewIndex.
+ * - Al abrir se reconstruye el índice a partir del log, así que las reviews escritas sobreviven a un reinicio.
+ * Las lecturas del índice solo ven reviews ya guardadas en disco. Una vez indexadas, las reviews de cada
+ * lote se publican en getBroadcaster() para los suscriptores en vivo.
+ */
+@Slf4j
+public class ReviewIngestion implements Closeable {
+
+    private final ReviewIngestionConfig config;
+    private final ReviewIndex index = new ReviewIndex();
+    private final ReviewBroadcaster broadcaster = new ReviewBroadcaster();
+    private final ReviewLog reviewLog;
+    private final Scheduler writerScheduler;
+    private final Sinks.Many<Review> sink;
+    // número de reviews ya en disco; lo emite solo el hilo escritor
+    private final Sinks.Many<Long> persistedSignal = Sinks.many().replay().latest();
+
+    // protegido por this
+    private long accepted;
+    private volatile long persisted;
+    private final LongAdder rejected = new LongAdder();
+
+    private ReviewIngestion(Path directory, ReviewIngestionConfig config) throws IOException {
+        this.config = config;
+        this.reviewLog = ReviewLog.open(directory, config.getMaxSegmentBytes(), index::add);
+        this.writerScheduler = Schedulers.newSingle("review-writer");
+        this.sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<Review>get(config.getBacklogCapacity()).get());
+        persistedSignal.tryEmitNext(0L);
+        sink.asFlux()
+                .publishOn(writerScheduler, config.getMaxBatchSize())
+                .subscribe(new BatchWriter());
+    }
+
+    public static ReviewIngestion open(Path directory, ReviewIngestionConfig config) throws IOException {
+        return new ReviewIngestion(directory, config);
+    }
+
+    public static ReviewIngestion open(Path directory) throws IOException {
+        return open(directory, ReviewIngestionConfig.defaults());
+    }
+
+    public synchronized Sinks.EmitResult tryIngest(Review review) {
+        if (accepted - persisted >= config.getBacklogCapacity()) {
+            rejected.increment();
+            return Sinks.EmitResult.FAIL_OVERFLOW;
+        }
+        var result = sink.tryEmitNext(review);
+        if (result.isSuccess()) {
+            accepted++;
+        } else if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+            rejected.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Ingesta un flujo de reviews respetando el backlog: mientras está lleno se reintenta con backoff,
+     * de modo que el productor solo avanza al ritmo del escritor. Termina cuando todas se han aceptado.
+     */
+    public Mono<Void> ingest(Flux<Review> reviews) {
+        return reviews
+                .concatMap(review -> Mono.defer(() -> emit(review))
+                        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(1))
+                                .maxBackoff(Duration.ofMillis(100))
+                                .filter(BacklogFullException.class::isInstance)), 1)
+                .then();
+    }
+
+    private Mono<Void> emit(Review review) {
+        var result = tryIngest(review);
+        if (result.isSuccess()) {
+            return Mono.empty();
+        }
+        if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+            return Mono.error(new BacklogFullException("Review backlog full: " + config.getBacklogCapacity()));
+        }
+        return Mono.error(new IllegalStateException("Review ingestion is not accepting writes: " + result));
+    }
+
+    /**
+     * Termina cuando todas las reviews aceptadas hasta este momento están en disco y en el índice.
+     */
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            long target;
+            synchronized (this) {
+                target = accepted;
+            }
+            return persistedSignal.asFlux()
+                    .filter(persistedCount -> persistedCount >= target)
+                    .next()
+                    .then();
+        });
+    }
+
+    public ReviewIndex getIndex() {
+        return index;
+    }
+
+    public ReviewBroadcaster getBroadcaster() {
+        return broadcaster;
+    }
+
+    // reviews aceptadas que aún no están en disco
+    public synchronized long getBacklog() {
+        return accepted - persisted;
+    }
+
+    public long getPersisted() {
+        return persisted;
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Deja de aceptar reviews, espera a que se escriban las pendientes y cierra el log.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            sink.tryEmitComplete();
+        }
+        try {
+            persistedSignal.asFlux().onErrorResume(ex -> Mono.empty()).blockLast();
+        } finally {
+            broadcaster.complete();
+            writerScheduler.dispose();
+            reviewLog.close();
+        }
+    }
+
+    // se ejecuta siempre en writerScheduler (un solo hilo), también el flush por tiempo
+    private final class BatchWriter extends BaseSubscriber<Review> {
+        private final List<Review> batch = new ArrayList<>();
+        private Disposable scheduledFlush;
+        private boolean failed;
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            // publishOn ya limita lo que se pide al sink a maxBatchSize
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        protected void hookOnNext(Review review) {
+            batch.add(review);
+            if (batch.size() >= config.getMaxBatchSize()) {
+                writeBatch();
+            } else if (batch.size() == 1) {
+                scheduledFlush = writerScheduler.schedule(this::writeBatch,
+                        config.getMaxBatchDelay().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            writeBatch();
+            if (!failed) {
+                persistedSignal.tryEmitComplete();
+            }
+        }
+
+        @Override
+        protected void hookOnError(Throwable ex) {
+            fail(ex);
+        }
+
+        private void writeBatch() {
+            if (scheduledFlush != null) {
+                scheduledFlush.dispose();
+                scheduledFlush = null;
+            }
+            if (batch.isEmpty() || failed) {
+                return;
+            }
+            try {
+                reviewLog.append(batch);
+            } catch (IOException ex) {
+                fail(ex);
+                return;
+            }
+            var sequences = new int[batch.size()];
+            for (int i = 0; i < sequences.length; i++) {
+                sequences[i] = index.add(batch.get(i));
+            }
+            persisted += batch.size();
+            persistedSignal.tryEmitNext(persisted);
+            for (int i = 0; i < sequences.length; i++) {
+                broadcaster.publish(batch.get(i), sequences[i]);
+            }
+            batch.clear();
+        }
+
+        private void fail(Throwable ex) {
+            log.error("Review ingestion stopped, {} reviews not persisted", batch.size(), ex);
+            failed = true;
+            cancel();
+            persistedSignal.tryEmitError(ex);
+        }
+    }
+}
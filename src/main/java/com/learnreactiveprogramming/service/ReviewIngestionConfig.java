@@ -0,0 +1,26 @@
+package com.learnreactiveprogramming.service;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder
+public class ReviewIngestionConfig {
+    // reviews por lote: cada lote es una escritura y un fsync
+    @Builder.Default
+    int maxBatchSize = 512;
+    // tiempo máximo que una review espera a que se complete su lote
+    @Builder.Default
+    Duration maxBatchDelay = Duration.ofMillis(5);
+    // reviews aceptadas pendientes de escribir (límite exacto); con el backlog lleno tryIngest devuelve FAIL_OVERFLOW
+    @Builder.Default
+    int backlogCapacity = 65_536;
+    @Builder.Default
+    long maxSegmentBytes = 64L * 1024 * 1024;
+
+    public static ReviewIngestionConfig defaults() {
+        return ReviewIngestionConfig.builder().build();
+    }
+}
@@ -1,21 +1,140 @@
 package com.learnreactiveprogramming.service;
 
 import com.learnreactiveprogramming.domain.Review;
+import com.learnreactiveprogramming.domain.ReviewUpdate;
+import com.learnreactiveprogramming.store.ColumnarReviewStore;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.DoubleStream;
 
 public class ReviewService {
+
+    public static final int DEFAULT_LIVE_BUFFER_SIZE = 256;
+
+    private final ColumnarReviewStore reviewStore;
+    private final ReviewIngestion ingestion;
+    private final ReviewBroadcaster broadcaster;
+
+    public ReviewService() {
+        this(null, null);
+    }
+
+    /**
+     * @param reviewStore si no es null, las reviews se sirven desde este almacén por columnas
+     */
+    public ReviewService(ColumnarReviewStore reviewStore) {
+        this(reviewStore, null);
+    }
+
+    /**
+     * @param ingestion las reviews se escriben con ingest/tryIngest y se sirven desde su índice en memoria
+     */
+    public ReviewService(ReviewIngestion ingestion) {
+        this(null, ingestion);
+    }
+
+    private ReviewService(ColumnarReviewStore reviewStore, ReviewIngestion ingestion) {
+        this.reviewStore = reviewStore;
+        this.ingestion = ingestion;
+        this.broadcaster = ingestion != null ? ingestion.getBroadcaster() : new ReviewBroadcaster();
+    }
+
     public List<Review> retrieveReviews(long MovieId) {
+        if (ingestion != null) {
+            return ingestion.getIndex().reviewList(MovieId);
+        }
+        if (reviewStore != null) {
+            return reviewStore.reviewList(MovieId);
+        }
         return List.of(
                 new Review(MovieId, "Awesome Movie", 8.9),
                 new Review(MovieId, "Excellent Movie", 9.0));
     }
 
     public Flux<Review> retrieveReviewsFlux(long MovieId) {
+        if (ingestion != null) {
+            return Flux.defer(() -> ingestion.getIndex().reviews(MovieId));
+        }
+        if (reviewStore != null) {
+            return reviewStore.reviews(MovieId);
+        }
         var reviewsList = List.of(
                 new Review(MovieId, "Awesome Movie", 8.9),
                 new Review(MovieId, "Excellent Movie", 9.0));
         return Flux.fromIterable(reviewsList);
     }
+
+    // ratings de una película como stream primitivo (sin Review ni Double por elemento si hay reviewStore)
+    public DoubleStream retrieveRatings(long movieId) {
+        if (reviewStore != null) {
+            return reviewStore.ratings(movieId);
+        }
+        return retrieveReviews(movieId).stream()
+                .filter(Review::hasRating)
+                .mapToDouble(Review::getRating);
+    }
+
+    /**
+     * Recupera las reviews de varias películas en una sola llamada, agrupadas por movieId.
+     * Las películas sin reviews no aparecen en el mapa.
+     */
+    public Mono<Map<Long, List<Review>>> retrieveReviewsBatch(Collection<Long> movieIds) {
+        return Mono.fromSupplier(() -> {
+            Map<Long, List<Review>> reviewsByMovieId = new HashMap<>();
+            for (Long movieId : movieIds) {
+                var reviews = retrieveReviews(movieId);
+                if (!reviews.isEmpty()) {
+                    reviewsByMovieId.put(movieId, reviews);
+                }
+            }
+            return reviewsByMovieId;
+        });
+    }
+
+    /**
+     * Escritura de una review sin esperar a que llegue a disco; FAIL_OVERFLOW indica que el backlog está lleno.
+     */
+    public Sinks.EmitResult tryIngest(Review review) {
+        return requireIngestion().tryIngest(review);
+    }
+
+    public Mono<Void> ingest(Flux<Review> reviews) {
+        return Mono.defer(() -> requireIngestion().ingest(reviews));
+    }
+
+    public Flux<Review> liveReviews(long movieId) {
+        return liveReviews(movieId, ReviewBroadcaster.SlowConsumerPolicy.LATEST, DEFAULT_LIVE_BUFFER_SIZE);
+    }
+
+    /**
+     * Flujo en caliente de las reviews nuevas de una película (las que se ingestan después de suscribirse).
+     * Un suscriptor que no consume a tiempo pierde reviews según policy, con como máximo bufferSize pendientes
+     * (más una ya en camino a su hilo de entrega, ver ReviewBroadcaster).
+     * Sin ReviewIngestion no llega ninguna review nueva.
+     */
+    public Flux<Review> liveReviews(long movieId, ReviewBroadcaster.SlowConsumerPolicy policy, int bufferSize) {
+        return broadcaster.reviews(movieId, policy, bufferSize);
+    }
+
+    public Flux<ReviewUpdate> liveReviewUpdates(long movieId) {
+        return liveReviewUpdates(movieId, ReviewBroadcaster.SlowConsumerPolicy.LATEST, DEFAULT_LIVE_BUFFER_SIZE);
+    }
+
+    // como liveReviews, con la posición de cada review en las de su película (ver ReviewUpdate)
+    public Flux<ReviewUpdate> liveReviewUpdates(long movieId, ReviewBroadcaster.SlowConsumerPolicy policy, int bufferSize) {
+        return broadcaster.updates(movieId, policy, bufferSize);
+    }
+
+    private ReviewIngestion requireIngestion() {
+        if (ingestion == null) {
+            throw new IllegalStateException("ReviewService was created without a ReviewIngestion");
+        }
+        return ingestion;
+    }
 }
@@ -0,0 +1,73 @@
+package com.learnreactiveprogramming.service;
+
+import com.learnreactiveprogramming.domain.Review;
+import com.learnreactiveprogramming.domain.ReviewSummary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Acumula un ReviewSummary review a review. Solo guarda contadores, las topK reviews con mejor rating
+ * y (opcionalmente) un histograma fijo de ratings, así que la memoria no crece con el número de reviews.
+ * No es thread-safe: se usa con reduceWith, que crea uno por suscripción.
+ */
+public class ReviewSummaryAccumulator {
+
+    private static final Comparator<Review> BY_RATING = Comparator.comparingDouble(Review::getRating);
+
+    private final int topK;
+    private final PriorityQueue<Review> topReviews;
+    private final long[] ratingHistogram;
+
+    private long count;
+    private long ratedCount;
+    private double ratingSum;
+    private double minRating = Double.POSITIVE_INFINITY;
+    private double maxRating = Double.NEGATIVE_INFINITY;
+
+    public ReviewSummaryAccumulator(int topK, boolean ratingHistogram) {
+        this.topK = topK;
+        this.topReviews = new PriorityQueue<>(Math.max(topK, 1), BY_RATING);
+        this.ratingHistogram = ratingHistogram ? new long[ReviewSummary.HISTOGRAM_BUCKETS] : null;
+    }
+
+    public ReviewSummaryAccumulator add(Review review) {
+        count++;
+        if (!review.hasRating()) {
+            return this;
+        }
+        double rating = review.getRating();
+        ratedCount++;
+        ratingSum += rating;
+        minRating = Math.min(minRating, rating);
+        maxRating = Math.max(maxRating, rating);
+        if (ratingHistogram != null) {
+            var bucket = (int) Math.round(Math.min(Math.max(rating, 0), 10) * 10);
+            ratingHistogram[bucket]++;
+        }
+        if (topK > 0 && review.getComment() != null) {
+            if (topReviews.size() < topK) {
+                topReviews.add(review);
+            } else if (rating > topReviews.peek().getRating()) {
+                topReviews.poll();
+                topReviews.add(review);
+            }
+        }
+        return this;
+    }
+
+    public ReviewSummary toSummary() {
+        if (ratedCount == 0) {
+            return new ReviewSummary(count, Double.NaN, Double.NaN, Double.NaN, List.of(), ratingHistogram);
+        }
+        var best = new ArrayList<>(topReviews);
+        best.sort(BY_RATING.reversed());
+        var topComments = new ArrayList<String>(best.size());
+        for (Review review : best) {
+            topComments.add(review.getComment());
+        }
+        return new ReviewSummary(count, ratingSum / ratedCount, minRating, maxRating, topComments, ratingHistogram);
+    }
+}
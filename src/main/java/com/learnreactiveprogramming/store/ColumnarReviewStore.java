@@ -0,0 +1,163 @@
+package com.learnreactiveprogramming.store;
+
+import com.learnreactiveprogramming.domain.Review;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+/**
+ * Almacén de reviews en memoria por columnas, sin un objeto por review:
+ * - movieIds: ids de película ordenados (uno por película) con offsets[i]..offsets[i+1] como rango de filas.
+ * - ratings: double por fila (NaN si la review no tiene rating).
+ * - commentIds: índice por fila en comments, un arena de comentarios sin duplicados (-1 si no hay comentario).
+ * Las filas de una película son contiguas, así que buscarla es una búsqueda binaria sobre movieIds.
+ * Es inmutable una vez construido; los Review solo se crean al leer.
+ */
+public final class ColumnarReviewStore {
+
+    private final long[] movieIds;
+    private final int[] offsets;
+    private final double[] ratings;
+    private final int[] commentIds;
+    private final String[] comments;
+
+    private ColumnarReviewStore(long[] movieIds, int[] offsets, double[] ratings, int[] commentIds, String[] comments) {
+        this.movieIds = movieIds;
+        this.offsets = offsets;
+        this.ratings = ratings;
+        this.commentIds = commentIds;
+        this.comments = comments;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return ratings.length;
+    }
+
+    public int movieCount() {
+        return movieIds.length;
+    }
+
+    public int distinctComments() {
+        return comments.length;
+    }
+
+    public int reviewCount(long movieId) {
+        var index = Arrays.binarySearch(movieIds, movieId);
+        return index < 0 ? 0 : offsets[index + 1] - offsets[index];
+    }
+
+    public Flux<Review> reviews(long movieId) {
+        var index = Arrays.binarySearch(movieIds, movieId);
+        if (index < 0) {
+            return Flux.empty();
+        }
+        return Flux.range(offsets[index], offsets[index + 1] - offsets[index])
+                .map(row -> toReview(movieId, row));
+    }
+
+    public List<Review> reviewList(long movieId) {
+        var index = Arrays.binarySearch(movieIds, movieId);
+        if (index < 0) {
+            return List.of();
+        }
+        var reviews = new ArrayList<Review>(offsets[index + 1] - offsets[index]);
+        for (int row = offsets[index]; row < offsets[index + 1]; row++) {
+            reviews.add(toReview(movieId, row));
+        }
+        return reviews;
+    }
+
+    // ratings de una película sin crear Review ni boxing; las reviews sin rating se omiten
+    public DoubleStream ratings(long movieId) {
+        var index = Arrays.binarySearch(movieIds, movieId);
+        if (index < 0) {
+            return DoubleStream.empty();
+        }
+        return IntStream.range(offsets[index], offsets[index + 1])
+                .mapToDouble(row -> ratings[row])
+                .filter(rating -> !Double.isNaN(rating));
+    }
+
+    private Review toReview(long movieId, int row) {
+        var commentId = commentIds[row];
+        return new Review(movieId, commentId < 0 ? null : comments[commentId], ratings[row]);
+    }
+
+    public static final class Builder {
+        private final Map<Long, IntArray> rowsByMovieId = new HashMap<>();
+        private final Map<String, Integer> commentIdsByText = new HashMap<>();
+        private final List<String> comments = new ArrayList<>();
+        private double[] ratings = new double[16];
+        private int[] commentIds = new int[16];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(Review review) {
+            return add(review.getMovie_id(), review.getComment(), review.getRating());
+        }
+
+        public Builder add(long movieId, String comment, double rating) {
+            if (size == ratings.length) {
+                ratings = Arrays.copyOf(ratings, size * 2);
+                commentIds = Arrays.copyOf(commentIds, size * 2);
+            }
+            ratings[size] = rating;
+            commentIds[size] = comment == null ? -1 : commentIdsByText.computeIfAbsent(comment, text -> {
+                comments.add(text);
+                return comments.size() - 1;
+            });
+            rowsByMovieId.computeIfAbsent(movieId, id -> new IntArray()).add(size);
+            size++;
+            return this;
+        }
+
+        public ColumnarReviewStore build() {
+            var movieIds = new long[rowsByMovieId.size()];
+            int movie = 0;
+            for (Long movieId : rowsByMovieId.keySet()) {
+                movieIds[movie++] = movieId;
+            }
+            Arrays.sort(movieIds);
+
+            var offsets = new int[movieIds.length + 1];
+            var sortedRatings = new double[size];
+            var sortedCommentIds = new int[size];
+            int row = 0;
+            for (int i = 0; i < movieIds.length; i++) {
+                offsets[i] = row;
+                var rows = rowsByMovieId.get(movieIds[i]);
+                for (int j = 0; j < rows.size; j++) {
+                    sortedRatings[row] = ratings[rows.values[j]];
+                    sortedCommentIds[row] = commentIds[rows.values[j]];
+                    row++;
+                }
+            }
+            offsets[movieIds.length] = row;
+            return new ColumnarReviewStore(movieIds, offsets, sortedRatings, sortedCommentIds, comments.toArray(new String[0]));
+        }
+    }
+
+    private static final class IntArray {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
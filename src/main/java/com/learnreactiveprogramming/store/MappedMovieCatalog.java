@@ -0,0 +1,270 @@
+package com.learnreactiveprogramming.store;
+
+import com.learnreactiveprogramming.domain.MovieInfo;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Catálogo de MovieInfo en un fichero mapeado en memoria (fuera del heap gestionado por el GC).
+ *
+ * Formato (big-endian):
+ * - Cabecera: magic, versión, número de registros, capacidad del índice y offsets de cada sección.
+ * - Registros de tamaño fijo (RECORD_SIZE): movieId, movieInfoId, year, release_date en epoch-day,
+ *   offset del nombre y offset de la lista de cast en el heap de strings.
+ * - Índice hash en disco (direccionamiento abierto, sondeo lineal): pares movieId -> número de registro + 1.
+ * - Heap de strings: [int longitud][bytes UTF-8], sin duplicados; una lista de cast es [int n][n offsets].
+ *
+ * Los MovieInfo se decodifican al leer; abrir el catálogo solo mapea el fichero.
+ * Un mapeo único limita el fichero a 2GB.
+ */
+public final class MappedMovieCatalog {
+
+    static final int MAGIC = 0x4D434154; // "MCAT"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 40;
+    static final int RECORD_SIZE = 32;
+    static final int INDEX_SLOT_SIZE = 12;
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int NULL_OFFSET = -1;
+
+    private final MappedByteBuffer buffer;
+    private final int recordCount;
+    private final int indexCapacity;
+    private final int recordsOffset;
+    private final int indexOffset;
+    private final int stringsOffset;
+
+    private MappedMovieCatalog(MappedByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a movie catalog file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported movie catalog version: " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.recordCount = buffer.getInt(8);
+        this.indexCapacity = buffer.getInt(12);
+        this.recordsOffset = (int) buffer.getLong(16);
+        this.indexOffset = (int) buffer.getLong(24);
+        this.stringsOffset = (int) buffer.getLong(32);
+    }
+
+    public static MappedMovieCatalog open(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // el mapeo sigue siendo válido después de cerrar el canal
+            return new MappedMovieCatalog(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public MovieInfo get(int recordIndex) {
+        if (recordIndex < 0 || recordIndex >= recordCount) {
+            throw new IndexOutOfBoundsException("record " + recordIndex + " of " + recordCount);
+        }
+        var position = recordsOffset + recordIndex * RECORD_SIZE;
+        var releaseEpochDay = buffer.getInt(position + 20);
+        return new MovieInfo(
+                buffer.getLong(position),
+                buffer.getLong(position + 8),
+                readString(buffer.getInt(position + 24)),
+                buffer.getInt(position + 16),
+                readStringList(buffer.getInt(position + 28)),
+                releaseEpochDay == NULL_INT ? null : LocalDate.ofEpochDay(releaseEpochDay));
+    }
+
+    // búsqueda O(1) por el índice hash del fichero
+    public Optional<MovieInfo> findById(long movieId) {
+        var mask = indexCapacity - 1;
+        for (int slot = hash(movieId) & mask, probes = 0; probes < indexCapacity; slot = (slot + 1) & mask, probes++) {
+            var position = indexOffset + slot * INDEX_SLOT_SIZE;
+            var recordIndexPlusOne = buffer.getInt(position + 8);
+            if (recordIndexPlusOne == 0) {
+                return Optional.empty();
+            }
+            if (buffer.getLong(position) == movieId) {
+                return Optional.of(get(recordIndexPlusOne - 1));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Recorre el catálogo en orden de registro decodificando cada MovieInfo solo cuando se pide (generate).
+     */
+    public Flux<MovieInfo> movieInfoFlux() {
+        return Flux.generate(() -> 0, (recordIndex, sink) -> {
+            if (recordIndex >= recordCount) {
+                sink.complete();
+            } else {
+                sink.next(get(recordIndex));
+            }
+            return recordIndex + 1;
+        });
+    }
+
+    public List<MovieInfo> page(long offset, int limit) {
+        var from = (int) Math.min(offset, recordCount);
+        var to = (int) Math.min((long) from + limit, recordCount);
+        var page = new ArrayList<MovieInfo>(to - from);
+        for (int recordIndex = from; recordIndex < to; recordIndex++) {
+            page.add(get(recordIndex));
+        }
+        return page;
+    }
+
+    private String readString(int heapOffset) {
+        if (heapOffset == NULL_OFFSET) {
+            return null;
+        }
+        var position = stringsOffset + heapOffset;
+        var bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<String> readStringList(int heapOffset) {
+        if (heapOffset == NULL_OFFSET) {
+            return null;
+        }
+        var position = stringsOffset + heapOffset;
+        var values = new String[buffer.getInt(position)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString(buffer.getInt(position + 4 + i * 4));
+        }
+        return List.of(values);
+    }
+
+    private static int hash(long movieId) {
+        var h = movieId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public static void write(Path path, Collection<MovieInfo> movies) throws IOException {
+        var strings = new StringHeap();
+        var records = ByteBuffer.allocate(movies.size() * RECORD_SIZE);
+        var indexCapacity = Integer.highestOneBit(Math.max(movies.size(), 1) * 2 - 1) << 1;
+        var index = ByteBuffer.allocate(indexCapacity * INDEX_SLOT_SIZE);
+        var mask = indexCapacity - 1;
+
+        int recordIndex = 0;
+        for (MovieInfo movieInfo : movies) {
+            long movieId = movieInfo.getMovieId();
+            records.putLong(movieId);
+            records.putLong(movieInfo.getMovieInfoId());
+            records.putInt(movieInfo.getYear());
+            records.putInt(movieInfo.getRelease_date() == null ? NULL_INT : Math.toIntExact(movieInfo.getRelease_date().toEpochDay()));
+            records.putInt(strings.add(movieInfo.getName()));
+            records.putInt(strings.addList(movieInfo.getCast()));
+
+            var slot = hash(movieId) & mask;
+            while (index.getInt(slot * INDEX_SLOT_SIZE + 8) != 0) {
+                if (index.getLong(slot * INDEX_SLOT_SIZE) == movieId) {
+                    throw new IllegalArgumentException("Duplicate movieId " + movieId);
+                }
+                slot = (slot + 1) & mask;
+            }
+            index.putLong(slot * INDEX_SLOT_SIZE, movieId);
+            index.putInt(slot * INDEX_SLOT_SIZE + 8, ++recordIndex);
+        }
+
+        long recordsOffset = HEADER_SIZE;
+        long indexOffset = recordsOffset + records.capacity();
+        long stringsOffset = indexOffset + index.capacity();
+        long fileSize = stringsOffset + strings.size();
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Movie catalog exceeds 2GB: " + fileSize + " bytes");
+        }
+
+        var header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(movies.size())
+                .putInt(indexCapacity)
+                .putLong(recordsOffset)
+                .putLong(indexOffset)
+                .putLong(stringsOffset)
+                .flip();
+        records.flip();
+        index.rewind();
+        var heap = strings.toByteBuffer();
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (ByteBuffer section : new ByteBuffer[]{header, records, index, heap}) {
+                while (section.hasRemaining()) {
+                    channel.write(section);
+                }
+            }
+            channel.force(true);
+        }
+    }
+
+    private static final class StringHeap {
+        private final Map<String, Integer> offsets = new HashMap<>();
+        private ByteBuffer heap = ByteBuffer.allocate(1024);
+
+        int add(String value) {
+            if (value == null) {
+                return NULL_OFFSET;
+            }
+            return offsets.computeIfAbsent(value, text -> {
+                var bytes = text.getBytes(StandardCharsets.UTF_8);
+                ensureCapacity(4 + bytes.length);
+                var offset = heap.position();
+                heap.putInt(bytes.length).put(bytes);
+                return offset;
+            });
+        }
+
+        int addList(List<String> values) {
+            if (values == null) {
+                return NULL_OFFSET;
+            }
+            var valueOffsets = new int[values.size()];
+            for (int i = 0; i < valueOffsets.length; i++) {
+                valueOffsets[i] = add(values.get(i));
+            }
+            ensureCapacity(4 + 4 * valueOffsets.length);
+            var offset = heap.position();
+            heap.putInt(valueOffsets.length);
+            for (int valueOffset : valueOffsets) {
+                heap.putInt(valueOffset);
+            }
+            return offset;
+        }
+
+        int size() {
+            return heap.position();
+        }
+
+        ByteBuffer toByteBuffer() {
+            return heap.duplicate().flip();
+        }
+
+        private void ensureCapacity(int extra) {
+            if (heap.remaining() < extra) {
+                var grown = ByteBuffer.allocate(Math.max(heap.capacity() * 2, heap.position() + extra));
+                heap.flip();
+                grown.put(heap);
+                heap = grown;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.learnreactiveprogramming.store;
+
+import com.learnreactiveprogramming.domain.Review;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Índice en memoria de reviews por película, para un único escritor y cualquier número de lectores.
+ * Cada película guarda sus reviews en un array que el escritor amplía por el final; los lectores ven una
+ * instantánea inmutable (array + tamaño publicada por un campo volatile), sin bloqueos ni copias al leer.
+ */
+public final class ReviewIndex {
+
+    private static final Review[] EMPTY = new Review[0];
+
+    private final ConcurrentHashMap<Long, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Solo desde el escritor. Devuelve la posición de la review en las de su película (1 = la primera),
+     * que coincide con el tamaño de reviewList justo después de añadirla.
+     */
+    public int add(Review review) {
+        var position = buckets.computeIfAbsent(review.getMovie_id(), movieId -> new Bucket()).append(review);
+        size.increment();
+        return position;
+    }
+
+    public Flux<Review> reviews(long movieId) {
+        var bucket = buckets.get(movieId);
+        if (bucket == null) {
+            return Flux.empty();
+        }
+        var snapshot = bucket.snapshot;
+        return Flux.range(0, snapshot.size).map(i -> snapshot.reviews[i]);
+    }
+
+    public List<Review> reviewList(long movieId) {
+        var bucket = buckets.get(movieId);
+        if (bucket == null) {
+            return List.of();
+        }
+        // las posiciones por debajo de size no cambian nunca: la vista no necesita copia
+        var snapshot = bucket.snapshot;
+        return Collections.unmodifiableList(Arrays.asList(snapshot.reviews).subList(0, snapshot.size));
+    }
+
+    public long size() {
+        return size.sum();
+    }
+
+    public int movieCount() {
+        return buckets.size();
+    }
+
+    private static final class Bucket {
+        private volatile Snapshot snapshot = new Snapshot(EMPTY, 0);
+
+        int append(Review review) {
+            var current = snapshot;
+            var reviews = current.reviews;
+            if (current.size == reviews.length) {
+                reviews = Arrays.copyOf(reviews, Math.max(4, reviews.length * 2));
+            }
+            // la posición size no es visible para los lectores hasta publicar la nueva instantánea
+            reviews[current.size] = review;
+            snapshot = new Snapshot(reviews, current.size + 1);
+            return current.size + 1;
+        }
+    }
+
+    private static final class Snapshot {
+        private final Review[] reviews;
+        private final int size;
+
+        private Snapshot(Review[] reviews, int size) {
+            this.reviews = reviews;
+            this.size = size;
+        }
+    }
+}
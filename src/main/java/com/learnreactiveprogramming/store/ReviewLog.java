@@ -0,0 +1,230 @@
+package com.learnreactiveprogramming.store;
+
+import com.learnreactiveprogramming.domain.Review;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Log de reviews en disco, solo de escritura al final y partido en segmentos de como máximo maxSegmentBytes
+ * (un lote nunca se parte entre dos segmentos). Cada segmento se llama reviews-&lt;número&gt;.log.
+ *
+ * Registro (big-endian): [int longitud del payload][int CRC32 del payload]
+ * [long movie_id][double rating][int longitud del comentario, -1 = null][bytes UTF-8].
+ *
+ * append escribe un lote con una sola escritura y un solo fsync (group commit); al crear un segmento nuevo
+ * se hace fsync también del directorio. Al abrir, replay recorre los segmentos en orden, por bloques; un
+ * registro incompleto o con CRC incorrecto al final del último segmento (escritura cortada por una caída)
+ * se descarta y el segmento se trunca ahí. En cualquier otro segmento es corrupción y open falla con IOException.
+ * No es thread-safe: lo usa un único escritor.
+ */
+@Slf4j
+public final class ReviewLog implements Closeable {
+
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int FIXED_PAYLOAD_SIZE = 8 + 8 + 4;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final String SEGMENT_PREFIX = "reviews-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel segment;
+    private long segmentNumber;
+    private long segmentSize;
+
+    private ReviewLog(Path directory, long maxSegmentBytes) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    /**
+     * Abre (o crea) el log de directory y pasa a replayed cada review ya guardada, en orden de escritura.
+     */
+    public static ReviewLog open(Path directory, long maxSegmentBytes, Consumer<Review> replayed) throws IOException {
+        if (maxSegmentBytes <= 0 || maxSegmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxSegmentBytes must be between 1 and 2GB: " + maxSegmentBytes);
+        }
+        Files.createDirectories(directory);
+        var reviewLog = new ReviewLog(directory, maxSegmentBytes);
+        var segments = reviewLog.segments();
+        for (int i = 0; i < segments.size(); i++) {
+            reviewLog.replay(segments.get(i), i == segments.size() - 1, replayed);
+        }
+        if (segments.isEmpty()) {
+            reviewLog.openSegment(0);
+        } else {
+            reviewLog.openSegment(segmentNumber(segments.get(segments.size() - 1)));
+        }
+        return reviewLog;
+    }
+
+    public void append(List<Review> batch) throws IOException {
+        var encoded = encode(batch);
+        if (segmentSize > 0 && segmentSize + encoded.remaining() > maxSegmentBytes) {
+            segment.close();
+            openSegment(segmentNumber + 1);
+        }
+        var written = encoded.remaining();
+        while (encoded.hasRemaining()) {
+            segment.write(encoded);
+        }
+        segment.force(false);
+        segmentSize += written;
+    }
+
+    public int segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        segment.close();
+    }
+
+    private ByteBuffer encode(List<Review> batch) {
+        var comments = new byte[batch.size()][];
+        var size = 0;
+        for (int i = 0; i < comments.length; i++) {
+            var comment = batch.get(i).getComment();
+            comments[i] = comment == null ? null : comment.getBytes(StandardCharsets.UTF_8);
+            size += RECORD_HEADER_SIZE + FIXED_PAYLOAD_SIZE + (comments[i] == null ? 0 : comments[i].length);
+        }
+        var buffer = ByteBuffer.allocate(size);
+        for (int i = 0; i < comments.length; i++) {
+            var review = batch.get(i);
+            var payloadStart = buffer.position() + RECORD_HEADER_SIZE;
+            buffer.position(payloadStart);
+            buffer.putLong(review.getMovie_id());
+            buffer.putDouble(review.getRating());
+            if (comments[i] == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(comments[i].length).put(comments[i]);
+            }
+            var payloadLength = buffer.position() - payloadStart;
+            crc.reset();
+            crc.update(buffer.array(), payloadStart, payloadLength);
+            buffer.putInt(payloadStart - RECORD_HEADER_SIZE, payloadLength);
+            buffer.putInt(payloadStart - 4, (int) crc.getValue());
+        }
+        return buffer.flip();
+    }
+
+    private void replay(Path path, boolean lastSegment, Consumer<Review> replayed) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var size = channel.size();
+            var buffer = ByteBuffer.allocate(READ_BUFFER_SIZE).flip();
+            long validEnd = 0;
+            while (true) {
+                buffer = fill(channel, buffer, RECORD_HEADER_SIZE);
+                if (buffer.remaining() < RECORD_HEADER_SIZE) {
+                    break;
+                }
+                var payloadLength = buffer.getInt(buffer.position());
+                var expectedCrc = buffer.getInt(buffer.position() + 4);
+                if (payloadLength < FIXED_PAYLOAD_SIZE || payloadLength > size - validEnd - RECORD_HEADER_SIZE) {
+                    break;
+                }
+                buffer = fill(channel, buffer, RECORD_HEADER_SIZE + payloadLength);
+                if (buffer.remaining() < RECORD_HEADER_SIZE + payloadLength) {
+                    break;
+                }
+                var payloadStart = buffer.position() + RECORD_HEADER_SIZE;
+                crc.reset();
+                crc.update(buffer.array(), payloadStart, payloadLength);
+                if ((int) crc.getValue() != expectedCrc) {
+                    break;
+                }
+                replayed.accept(decode(buffer, payloadStart));
+                buffer.position(payloadStart + payloadLength);
+                validEnd += RECORD_HEADER_SIZE + payloadLength;
+            }
+            if (validEnd < size) {
+                if (!lastSegment) {
+                    throw new IOException("Corrupt review log segment " + path + " at byte " + validEnd + " of " + size);
+                }
+                log.warn("Truncating review log segment {} at {} of {} bytes", path, validEnd, size);
+                channel.truncate(validEnd);
+            }
+        }
+    }
+
+    // deja al menos needed bytes sin leer en buffer (si quedan en el fichero); compacta o agranda el buffer
+    private static ByteBuffer fill(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        if (buffer.capacity() < needed) {
+            buffer = ByteBuffer.allocate(Math.max(needed, buffer.capacity() * 2)).put(buffer);
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < needed) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static Review decode(ByteBuffer buffer, int position) {
+        var movieId = buffer.getLong(position);
+        var rating = buffer.getDouble(position + 8);
+        var commentLength = buffer.getInt(position + 16);
+        var comment = commentLength < 0
+                ? null
+                : new String(buffer.array(), position + FIXED_PAYLOAD_SIZE, commentLength, StandardCharsets.UTF_8);
+        return new Review(movieId, comment, rating);
+    }
+
+    private void openSegment(long number) throws IOException {
+        segmentNumber = number;
+        var path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        var created = Files.notExists(path);
+        segment = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = segment.size();
+        if (created) {
+            syncDirectory();
+        }
+    }
+
+    // sin fsync del directorio la entrada del segmento nuevo (y los lotes ya confirmados en él) puede perderse en una caída
+    private void syncDirectory() throws IOException {
+        try (var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows no permite abrir un directorio como FileChannel; NTFS ya persiste la entrada con el fichero
+            log.debug("Cannot fsync review log directory {}", directory);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long segmentNumber(Path segment) {
+        var name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
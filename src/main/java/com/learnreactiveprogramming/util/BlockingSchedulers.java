@@ -0,0 +1,63 @@
+package com.learnreactiveprogramming.util;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Schedulers donde se ejecutan las llamadas bloqueantes (las que usan CommonUtil.delay).
+ * El tipo se elige con la propiedad de sistema "blocking.scheduler" (bounded-elastic | virtual)
+ * para poder comparar ambas opciones en producción sin cambiar código.
+ */
+public final class BlockingSchedulers {
+
+    public static final String SCHEDULER_PROPERTY = "blocking.scheduler";
+
+    public enum Type {
+        BOUNDED_ELASTIC,
+        VIRTUAL_THREADS
+    }
+
+    private static volatile Scheduler virtualThreads;
+
+    private BlockingSchedulers() {
+    }
+
+    public static Scheduler fromSystemProperty() {
+        return of(typeFromSystemProperty());
+    }
+
+    public static Type typeFromSystemProperty() {
+        var value = System.getProperty(SCHEDULER_PROPERTY, "bounded-elastic");
+        return "virtual".equalsIgnoreCase(value) ? Type.VIRTUAL_THREADS : Type.BOUNDED_ELASTIC;
+    }
+
+    public static Scheduler of(Type type) {
+        switch (type) {
+            case VIRTUAL_THREADS:
+                return virtualThreads();
+            case BOUNDED_ELASTIC:
+            default:
+                return Schedulers.boundedElastic();
+        }
+    }
+
+    /**
+     * Scheduler compartido que lanza un virtual thread por tarea. No tiene límite de hilos:
+     * miles de llamadas lentas concurrentes no ocupan hilos de plataforma mientras duermen.
+     */
+    public static Scheduler virtualThreads() {
+        var scheduler = virtualThreads;
+        if (scheduler == null) {
+            synchronized (BlockingSchedulers.class) {
+                scheduler = virtualThreads;
+                if (scheduler == null) {
+                    scheduler = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "virtual-threads");
+                    virtualThreads = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+}
@@ -0,0 +1,97 @@
+package com.learnreactiveprogramming.util;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flux que lee una fuente paginada solo cuando hay demanda (request(n)) del suscriptor.
+ * El tamaño de cada página se adapta a la demanda pendiente, acotado entre minPageSize y maxPageSize,
+ * y solo se mantiene en memoria una página: un suscriptor lento nunca provoca más lecturas.
+ * Una página con menos elementos que los pedidos marca el final de la fuente.
+ */
+public final class PagedFlux {
+
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        List<T> fetch(long offset, int limit);
+    }
+
+    private PagedFlux() {
+    }
+
+    public static <T> Flux<T> create(PageFetcher<T> fetcher, int minPageSize, int maxPageSize) {
+        if (minPageSize < 1 || maxPageSize < minPageSize) {
+            throw new IllegalArgumentException("invalid page size bounds: " + minPageSize + ".." + maxPageSize);
+        }
+        return Flux.create(sink -> {
+            var paging = new Paging<>(fetcher, minPageSize, maxPageSize, sink);
+            sink.onRequest(n -> paging.drain());
+        });
+    }
+
+    private static final class Paging<T> {
+        private final PageFetcher<T> fetcher;
+        private final int minPageSize;
+        private final int maxPageSize;
+        private final FluxSink<T> sink;
+        private final AtomicInteger wip = new AtomicInteger();
+
+        // solo se accede dentro de drain, protegido por wip
+        private List<T> page;
+        private int position;
+        private long offset;
+        private boolean exhausted;
+        private boolean done;
+
+        private Paging(PageFetcher<T> fetcher, int minPageSize, int maxPageSize, FluxSink<T> sink) {
+            this.fetcher = fetcher;
+            this.minPageSize = minPageSize;
+            this.maxPageSize = maxPageSize;
+            this.sink = sink;
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!done && !sink.isCancelled() && sink.requestedFromDownstream() > 0) {
+                    if (page == null) {
+                        if (exhausted) {
+                            break;
+                        }
+                        var limit = (int) Math.max(minPageSize, Math.min(maxPageSize, sink.requestedFromDownstream()));
+                        try {
+                            page = fetcher.fetch(offset, limit);
+                        } catch (Throwable ex) {
+                            done = true;
+                            sink.error(ex);
+                            return;
+                        }
+                        position = 0;
+                        offset += page.size();
+                        exhausted = page.size() < limit;
+                        if (page.isEmpty()) {
+                            page = null;
+                        }
+                        continue;
+                    }
+                    var next = page.get(position++);
+                    if (position == page.size()) {
+                        page = null; // la página consumida se libera antes de pedir la siguiente
+                    }
+                    sink.next(next);
+                }
+                if (!done && exhausted && page == null) {
+                    done = true;
+                    sink.complete();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.learnreactiveprogramming.util;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Traza las señales (subscribe, next, error) de un pipeline por SLF4J, sustituyendo a log() y System.out.
+ * Se aplica con transform(): en modo OFF (o con el logger por encima de DEBUG) devuelve la función
+ * identidad, así que no se añade ningún operador y el coste por señal es cero.
+ * El modo se puede fijar con la propiedad de sistema "tracing.mode": off | full | sampled:&lt;porcentaje&gt;.
+ */
+@Slf4j
+public final class SignalTracer {
+
+    public static final String TRACING_PROPERTY = "tracing.mode";
+
+    public enum Mode {
+        OFF,
+        SAMPLED,
+        FULL
+    }
+
+    private static final SignalTracer OFF = new SignalTracer(Mode.OFF, 0);
+    private static final SignalTracer FULL = new SignalTracer(Mode.FULL, 1);
+
+    private final Mode mode;
+    private final double sampleRate;
+
+    private SignalTracer(Mode mode, double sampleRate) {
+        this.mode = mode;
+        this.sampleRate = sampleRate;
+    }
+
+    public static SignalTracer off() {
+        return OFF;
+    }
+
+    public static SignalTracer full() {
+        return FULL;
+    }
+
+    /**
+     * @param percent porcentaje de señales que se trazan, entre 0 y 100
+     */
+    public static SignalTracer sampled(double percent) {
+        if (!(percent >= 0 && percent <= 100)) {
+            throw new IllegalArgumentException("percent must be between 0 and 100: " + percent);
+        }
+        if (percent == 0) {
+            return OFF;
+        }
+        if (percent == 100) {
+            return FULL;
+        }
+        return new SignalTracer(Mode.SAMPLED, percent / 100);
+    }
+
+    /**
+     * Un valor mal formado o un porcentaje fuera de rango se ignora con un warning y deja la traza en OFF:
+     * se lee desde inicializadores estáticos, donde una excepción rompería la carga de la clase.
+     */
+    public static SignalTracer fromSystemProperty() {
+        var value = System.getProperty(TRACING_PROPERTY, "off").trim().toLowerCase();
+        if (value.equals("off")) {
+            return OFF;
+        }
+        if (value.equals("full")) {
+            return FULL;
+        }
+        if (value.startsWith("sampled:")) {
+            try {
+                return sampled(Double.parseDouble(value.substring("sampled:".length())));
+            } catch (IllegalArgumentException ex) {
+                log.warn("Invalid {}={}, tracing disabled: {}", TRACING_PROPERTY, value, ex.getMessage());
+                return OFF;
+            }
+        }
+        log.warn("Unknown {}={}, tracing disabled", TRACING_PROPERTY, value);
+        return OFF;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> flux(String stage) {
+        if (!isActive()) {
+            return Function.identity();
+        }
+        return flux -> flux
+                .doOnSubscribe(subscription -> {
+                    if (sample()) {
+                        log.debug("{} onSubscribe", stage);
+                    }
+                })
+                .doOnNext(value -> {
+                    if (sample()) {
+                        log.debug("{} onNext {}", stage, value);
+                    }
+                })
+                .doOnError(ex -> log.debug("{} onError {}", stage, ex.toString()));
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> mono(String stage) {
+        if (!isActive()) {
+            return Function.identity();
+        }
+        return mono -> mono
+                .doOnSubscribe(subscription -> {
+                    if (sample()) {
+                        log.debug("{} onSubscribe", stage);
+                    }
+                })
+                .doOnNext(value -> {
+                    if (sample()) {
+                        log.debug("{} onNext {}", stage, value);
+                    }
+                })
+                .doOnError(ex -> log.debug("{} onError {}", stage, ex.toString()));
+    }
+
+    private boolean isActive() {
+        return mode != Mode.OFF && log.isDebugEnabled();
+    }
+
+    private boolean sample() {
+        return mode == Mode.FULL || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,35 @@
+package com.learnreactiveprogramming.util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Deduplica llamadas concurrentes por clave: mientras hay una llamada en vuelo para una clave,
+ * los nuevos suscriptores comparten su resultado en lugar de lanzar otra.
+ * Al terminar (valor, vacío o error) la clave se libera; no se retiene nada, no es una caché.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> share(k, call)));
+    }
+
+    private Mono<V> share(K key, Supplier<Mono<V>> call) {
+        var self = new AtomicReference<Mono<V>>();
+        var shared = Mono.defer(call)
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache();
+        self.set(shared);
+        return shared;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,113 @@
+package com.learnreactiveprogramming.util;
+
+import lombok.Value;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Diccionario concurrente y acotado de strings repetidos (nombres de cast, comentarios habituales).
+ * - idOf asigna a cada string distinto un id int compacto y get lo resuelve de vuelta a la instancia canónica.
+ * - intern devuelve la instancia canónica, de modo que las copias iguales se pueden liberar.
+ * Cuando se llega a maxEntries (o el string supera maxLength) no se añade nada más: idOf devuelve -1
+ * e intern devuelve el mismo string, así que un texto muy variado no hace crecer el diccionario sin límite.
+ * La tabla de ids crece por bloques de CHUNK_SIZE según se usan, no se reserva entera al crearlo.
+ */
+public final class StringDictionary {
+
+    public static final int NO_ID = -1;
+
+    // cabecera de String + cabecera del byte[] (compact strings, Latin-1) con referencias comprimidas
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private final int maxEntries;
+    private final int maxLength;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    // values[id] = chunks[id >>> CHUNK_BITS][id & (CHUNK_SIZE - 1)]; cada bloque se crea con su primer id
+    private final AtomicReferenceArray<AtomicReferenceArray<String>> chunks;
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    private final LongAdder copiesReplaced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder bytesReplaced = new LongAdder();
+
+    public StringDictionary(int maxEntries, int maxLength) {
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+        this.chunks = new AtomicReferenceArray<>((int) (((long) maxEntries + CHUNK_SIZE - 1) >>> CHUNK_BITS));
+    }
+
+    public int idOf(String value) {
+        if (value == null) {
+            return NO_ID;
+        }
+        var id = ids.get(value);
+        if (id == null) {
+            if (value.length() > maxLength) {
+                rejected.increment();
+                return NO_ID;
+            }
+            id = ids.computeIfAbsent(value, this::assignId);
+            if (id == null) {
+                rejected.increment();
+                return NO_ID;
+            }
+        }
+        // solo cuenta si value es una copia distinta de la canónica; buscar la instancia canónica no toca nada
+        var canonical = get(id);
+        if (canonical != value) {
+            copiesReplaced.increment();
+            bytesReplaced.add(STRING_OVERHEAD_BYTES + value.length());
+        }
+        return id;
+    }
+
+    public String get(int id) {
+        return chunks.get(id >>> CHUNK_BITS).get(id & (CHUNK_SIZE - 1));
+    }
+
+    public String intern(String value) {
+        var id = idOf(value);
+        return id == NO_ID ? value : get(id);
+    }
+
+    // se ejecuta dentro de computeIfAbsent: el string queda en values antes de que su id sea visible
+    private Integer assignId(String value) {
+        var id = nextId.getAndIncrement();
+        if (id >= maxEntries) {
+            nextId.set(maxEntries);
+            return null;
+        }
+        chunkFor(id).set(id & (CHUNK_SIZE - 1), value);
+        return id;
+    }
+
+    private AtomicReferenceArray<String> chunkFor(int id) {
+        var index = id >>> CHUNK_BITS;
+        var chunk = chunks.get(index);
+        if (chunk == null) {
+            chunks.compareAndSet(index, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+            chunk = chunks.get(index);
+        }
+        return chunk;
+    }
+
+    public DictionaryStats stats() {
+        return new DictionaryStats(ids.size(), copiesReplaced.sum(), rejected.sum(), bytesReplaced.sum());
+    }
+
+    @Value
+    public static class DictionaryStats {
+        int entries;
+        // búsquedas con una copia distinta de la instancia canónica (value != canonical)
+        long copiesReplaced;
+        long rejected;
+        // estimación de los bytes de esas copias: solo se liberan si quien llama deja de referenciarlas
+        long estimatedBytesReplaced;
+    }
+}
@@ -1,4 +1,146 @@
 package com.learnreactiveprogramming;
 
+import com.learnreactiveprogramming.service.MovieInfoService;
+import com.learnreactiveprogramming.util.PagedFlux;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Backpressure - la fuente paginada solo lee lo que pide el suscriptor")
 public class BackpressureTest {
+
+    private static final long TOTAL = 10_000;
+
+    // fuente paginada de TOTAL números que cuenta cuántos elementos y páginas se han leído
+    private final AtomicLong fetchedItems = new AtomicLong();
+    private final List<Integer> pageSizes = new ArrayList<>();
+
+    private final PagedFlux.PageFetcher<Long> fetcher = (offset, limit) -> {
+        pageSizes.add(limit);
+        var page = LongStream.range(offset, Math.min(offset + limit, TOTAL))
+                .boxed()
+                .collect(Collectors.toList());
+        fetchedItems.addAndGet(page.size());
+        return page;
+    };
+
+    @Test
+    @DisplayName("Sin demanda no se lee ninguna página")
+    void noDemandNoFetch() {
+        StepVerifier.create(PagedFlux.create(fetcher, 1, 100), 0)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+
+        assertThat(fetchedItems.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Solo se leen los elementos pedidos")
+    void fetchOnlyWhatIsRequested() {
+        StepVerifier.create(PagedFlux.create(fetcher, 1, 100), 5)
+                .expectNext(0L, 1L, 2L, 3L, 4L)
+                .thenCancel()
+                .verify();
+
+        assertThat(fetchedItems.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("El tamaño de página se adapta a la demanda, acotado por maxPageSize")
+    void adaptivePageSize() {
+        StepVerifier.create(PagedFlux.create(fetcher, 10, 100), 3)
+                .expectNextCount(3)
+                .thenRequest(1000)
+                .expectNextCount(1000)
+                .thenCancel()
+                .verify();
+
+        assertThat(pageSizes.get(0)).isEqualTo(10); // la demanda (3) es menor que minPageSize
+        assertThat(pageSizes.subList(1, pageSizes.size()))
+                .allMatch(size -> size <= 100)
+                .contains(100);
+        assertThat(fetchedItems.get()).isLessThanOrEqualTo(3 + 7 + 1000 + 100);
+    }
+
+    @Test
+    @DisplayName("Con un suscriptor lento lo leído y no consumido nunca supera una página más el prefetch")
+    void slowSubscriberBoundedMemory() {
+        var maxPageSize = 50;
+        var prefetch = 8;
+        var consumed = new AtomicLong();
+        var maxOutstanding = new AtomicLong();
+
+        var flux = PagedFlux.create(fetcher, 1, maxPageSize)
+                .take(500)
+                .publishOn(Schedulers.single(), prefetch)
+                .doOnNext(value -> {
+                    maxOutstanding.accumulateAndGet(fetchedItems.get() - consumed.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(1); // suscriptor lento
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+        StepVerifier.create(flux)
+                .expectNextCount(500)
+                .verifyComplete();
+
+        assertThat(maxOutstanding.get()).isLessThanOrEqualTo(maxPageSize + prefetch);
+    }
+
+    @Test
+    @DisplayName("La fuente termina cuando se agota aunque no haya más demanda")
+    void completesWhenExhausted() {
+        var pages = new AtomicInteger();
+        var flux = PagedFlux.create((offset, limit) -> {
+            pages.incrementAndGet();
+            return offset == 0 ? List.of("a", "b") : List.<String>of();
+        }, 5, 5);
+
+        StepVerifier.create(flux, 2)
+                .expectNext("a", "b")
+                .verifyComplete();
+
+        assertThat(pages.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("MovieInfoService.movieInfoFlux respeta la demanda")
+    void movieInfoFlux() {
+        var movieInfoService = new MovieInfoService(Schedulers.immediate());
+        movieInfoService.setPageSize(1, 1);
+
+        StepVerifier.create(movieInfoService.movieInfoFlux(), 1)
+                .expectNextMatches(movieInfo -> movieInfo.getMovieId() == 1L)
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Un error al leer una página termina el flujo")
+    void fetchError() {
+        Flux<String> flux = PagedFlux.create((offset, limit) -> {
+            throw new IllegalStateException("page unavailable");
+        }, 1, 10);
+
+        StepVerifier.create(flux)
+                .expectErrorMessage("page unavailable")
+                .verify();
+    }
 }
@@ -0,0 +1,75 @@
+package com.learnreactiveprogramming.codec;
+
+import com.learnreactiveprogramming.domain.Movie;
+import com.learnreactiveprogramming.domain.MovieInfo;
+import com.learnreactiveprogramming.domain.Revenue;
+import com.learnreactiveprogramming.domain.Review;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MovieCodecTest {
+
+    private final MovieInfo batmanBegins = new MovieInfo(1L, 100L, "Batman Begins", 2005,
+            List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"));
+
+    private final Movie movie = new Movie(1L, batmanBegins,
+            List.of(new Review(1L, "Awesome Movie", 8.9),
+                    new Review(1L, "Awesome Movie", 8.75),
+                    new Review(1L, null, Double.NaN)),
+            new Revenue(1L, 1000000, 5000000), false);
+
+    @Test
+    void roundTrip() {
+        var buffer = MovieCodec.encode(movie);
+
+        assertThat(MovieCodec.decodeMovie(buffer)).isEqualTo(movie);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void roundTripWithoutOptionalParts() {
+        var degraded = new Movie(2L, new MovieInfo(2L, 101L, null, 0, List.of(), null), List.of(), null, true);
+
+        assertThat(MovieCodec.decodeMovie(MovieCodec.encode(degraded))).isEqualTo(degraded);
+        assertThat(MovieCodec.decodeMovieInfo(MovieCodec.encode(batmanBegins))).isEqualTo(batmanBegins);
+    }
+
+    @Test
+    void repeatedStringsAreWrittenOnce() {
+        var oneReview = new Movie(1L, batmanBegins, List.of(new Review(1L, "Awesome Movie", 8.9)));
+        var twoReviews = new Movie(1L, batmanBegins, List.of(new Review(1L, "Awesome Movie", 8.9), new Review(1L, "Awesome Movie", 9.0)));
+
+        // la segunda review solo añade la diferencia de movie_id, la referencia al comentario y el rating
+        assertThat(MovieCodec.encode(twoReviews).remaining() - MovieCodec.encode(oneReview).remaining()).isEqualTo(3);
+    }
+
+    @Test
+    void decodeFromDirectBuffer() {
+        var heap = MovieCodec.encode(movie);
+        var direct = ByteBuffer.allocateDirect(heap.remaining()).put(heap).flip();
+
+        assertThat(MovieCodec.decodeMovie(direct)).isEqualTo(movie);
+    }
+
+    @Test
+    void unsupportedVersion() {
+        assertThatThrownBy(() -> MovieCodec.decodeMovie(ByteBuffer.wrap(new byte[]{9})))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported movie codec version: 9");
+    }
+
+    @Test
+    void encodeFlux() {
+        StepVerifier.create(Flux.just(movie, movie).transform(MovieCodec::encodeFlux).map(MovieCodec::decodeMovie))
+                .expectNext(movie, movie)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,40 @@
+package com.learnreactiveprogramming.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MovieTest {
+
+    private final Movie movie = new Movie(new MovieInfo(1L, 100L, "Batman Begins", 2005,
+            List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")),
+            List.of(new Review(1L, "Great movie!", 8.5)));
+
+    @Test
+    void withReviewAppendsWithoutTouchingPreviousMovies() {
+        var second = movie.withReview(new Review(1L, "Excellent!", 9.0));
+        var third = second.withReview(new Review(1L, "wow!", 10.0));
+        // otra rama desde second: no puede pisar la review de third
+        var branch = second.withReview(new Review(1L, "Meh", 5.0));
+
+        assertThat(movie.getReviewList()).hasSize(1);
+        assertThat(second.getReviewList()).extracting(Review::getComment).containsExactly("Great movie!", "Excellent!");
+        assertThat(third.getReviewList()).extracting(Review::getComment).containsExactly("Great movie!", "Excellent!", "wow!");
+        assertThat(branch.getReviewList()).extracting(Review::getComment).containsExactly("Great movie!", "Excellent!", "Meh");
+    }
+
+    @Test
+    void withReviewKeepsListSemantics() {
+        var updated = movie.withReview(new Review(1L, "Excellent!", 9.0));
+
+        assertThat(updated.getReviewList())
+                .isEqualTo(List.of(new Review(1L, "Great movie!", 8.5), new Review(1L, "Excellent!", 9.0)));
+        assertThat(updated).isEqualTo(new Movie(movie.getMovie(), updated.getReviewList()));
+        assertThatThrownBy(() -> updated.getReviewList().add(new Review(1L, "x", 1.0)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
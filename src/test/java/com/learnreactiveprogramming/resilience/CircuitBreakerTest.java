@@ -0,0 +1,101 @@
+package com.learnreactiveprogramming.resilience;
+
+import com.learnreactiveprogramming.exception.CircuitBreakerOpenException;
+import com.learnreactiveprogramming.exception.ServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        var config = CircuitBreakerConfig.builder()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .slowCallDurationThreshold(Duration.ofSeconds(1))
+                .waitDurationInOpenState(Duration.ofSeconds(10))
+                .permittedCallsInHalfOpenState(2)
+                .build();
+        circuitBreaker = new CircuitBreaker("test", config, clock::get);
+    }
+
+    private void call(Mono<String> source) {
+        circuitBreaker.protect(source).onErrorResume(ex -> Mono.empty()).block();
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        call(Mono.just("ok"));
+        call(Mono.just("ok"));
+        call(Mono.error(new ServiceException("down")));
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        call(Mono.error(new ServiceException("down")));
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        StepVerifier.create(circuitBreaker.protect(Mono.just("ok")))
+                .expectError(CircuitBreakerOpenException.class)
+                .verify();
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        for (int i = 0; i < 4; i++) {
+            call(Mono.fromSupplier(() -> {
+                clock.addAndGet(Duration.ofSeconds(2).toNanos());
+                return "slow";
+            }));
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void opensWhenTimeoutsCancelNeverCompletingCalls() {
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(circuitBreaker.protect(Mono.<String>never()).timeout(Duration.ofMillis(10)))
+                    .expectError(TimeoutException.class)
+                    .verify(Duration.ofSeconds(5));
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenClosesAfterSuccessfulTrialCalls() {
+        for (int i = 0; i < 4; i++) {
+            call(Mono.error(new ServiceException("down")));
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        call(Mono.just("ok"));
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        call(Mono.just("ok"));
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenReopensOnFailedTrialCalls() {
+        for (int i = 0; i < 4; i++) {
+            call(Mono.error(new ServiceException("down")));
+        }
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        call(Mono.error(new ServiceException("still down")));
+        call(Mono.just("ok"));
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,58 @@
+package com.learnreactiveprogramming.resilience;
+
+import com.learnreactiveprogramming.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+class DeadlineTest {
+
+    @Test
+    void noDeadlineInContext() {
+        var mono = Mono.just("ok")
+                .transform(Deadline.mono("call"));
+
+        StepVerifier.create(mono)
+                .expectNext("ok")
+                .verifyComplete();
+    }
+
+    @Test
+    void monoGetsRemainingBudget() {
+        var mono = Mono.never()
+                .transform(Deadline.mono("call"))
+                .contextWrite(Deadline.within(Duration.ofMillis(100)));
+
+        StepVerifier.create(mono)
+                .expectErrorMessage("Deadline exceeded before call completed")
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void fluxDeadlineAppliesToWholeStream() {
+        var flux = Flux.interval(Duration.ofMillis(20))
+                .transform(Deadline.flux("stream"))
+                .contextWrite(Deadline.within(Duration.ofMillis(150)));
+
+        StepVerifier.create(flux)
+                .thenConsumeWhile(tick -> true)
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void nearestDeadlineWins() {
+        // el Deadline exterior (50ms) es más cercano que el interior (10s)
+        var mono = Mono.never()
+                .transform(Deadline.mono("call"))
+                .contextWrite(Deadline.within(Duration.ofSeconds(10)))
+                .contextWrite(Deadline.within(Duration.ofMillis(50)));
+
+        StepVerifier.create(mono)
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,115 @@
+package com.learnreactiveprogramming.resilience;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private static HedgingConfig.HedgingConfigBuilder config() {
+        return HedgingConfig.builder()
+                .initialDelay(Duration.ofMillis(50))
+                .latencyWindowSize(8)
+                .minimumNumberOfSamples(8);
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() {
+        var hedger = new Hedger(config().build());
+
+        StepVerifier.create(hedger.hedge(() -> Mono.just("primary")))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(hedger.getHedges()).isZero();
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndCancelled() {
+        var hedger = new Hedger(config().build());
+        var attempts = new AtomicInteger();
+        var primaryCancelled = new AtomicBoolean();
+
+        var mono = hedger.hedge(() -> attempts.incrementAndGet() == 1
+                ? Mono.<String>never().doOnCancel(() -> primaryCancelled.set(true))
+                : Mono.just("hedge"));
+
+        StepVerifier.create(mono)
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(primaryCancelled).isTrue();
+        assertThat(hedger.getHedges()).isEqualTo(1);
+        assertThat(hedger.getHedgeWins()).isEqualTo(1);
+    }
+
+    @Test
+    void failingHedgeDoesNotBeatSlowPrimary() {
+        var hedger = new Hedger(config().build());
+        var attempts = new AtomicInteger();
+
+        var mono = hedger.hedge(() -> attempts.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(150)).thenReturn("primary")
+                : Mono.<String>error(new IllegalStateException("hedge failed")));
+
+        StepVerifier.create(mono)
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(hedger.getHedges()).isEqualTo(1);
+        assertThat(hedger.getHedgeWins()).isZero();
+    }
+
+    @Test
+    void exhaustedBudgetDoesNotHedge() {
+        var hedger = new Hedger(config().maxExtraLoad(0).maxBurst(0).build());
+        var attempts = new AtomicInteger();
+
+        var mono = hedger.hedge(() -> {
+            attempts.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(150)).thenReturn("primary");
+        });
+
+        StepVerifier.create(mono)
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(hedger.getRejectedHedges()).isEqualTo(1);
+    }
+
+    @Test
+    void delayFollowsLatencyPercentile() {
+        var hedger = new Hedger(config().delayPercentile(75).build(), clock::get);
+
+        for (long latencyMillis = 1; latencyMillis <= 8; latencyMillis++) {
+            var latency = Duration.ofMillis(latencyMillis).toNanos();
+            hedger.hedge(() -> Mono.fromCallable(() -> clock.addAndGet(latency))).block();
+        }
+
+        assertThat(hedger.currentDelay()).isEqualTo(Duration.ofMillis(6));
+    }
+
+    @Test
+    void cancelledPrimaryDoesNotRecordLatency() {
+        var hedger = new Hedger(config().build(), clock::get);
+
+        for (int i = 0; i < 8; i++) {
+            var subscription = hedger.hedge(() -> Mono.<String>never()).subscribe();
+            clock.addAndGet(Duration.ofMillis(100).toNanos());
+            subscription.dispose();
+        }
+
+        assertThat(hedger.currentDelay()).isEqualTo(Duration.ofMillis(50));
+    }
+}
@@ -0,0 +1,125 @@
+package com.learnreactiveprogramming.service;
+
+import com.learnreactiveprogramming.domain.MovieInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingMovieInfoServiceTest {
+
+    @Mock
+    private MovieInfoLookup movieInfoService;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CachingMovieInfoService cachingMovieInfoService;
+
+    @BeforeEach
+    void setUp() {
+        cachingMovieInfoService = new CachingMovieInfoService(movieInfoService, 2, Duration.ofSeconds(10), clock::get);
+    }
+
+    private static MovieInfo movieInfo(long movieId) {
+        return new MovieInfo(movieId, 100L, "Batman Begins", 2005,
+                List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15"));
+    }
+
+    @Test
+    void retrieveMovieInfoMonoUsingId_hit() {
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(anyLong()))
+                .thenAnswer(invocation -> Mono.just(movieInfo(invocation.getArgument(0))));
+
+        StepVerifier.create(cachingMovieInfoService.retrieveMovieInfoMonoUsingId(1L))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(cachingMovieInfoService.retrieveMovieInfoMonoUsingId(1L))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(movieInfoService, times(1)).retrieveMovieInfoMonoUsingId(1L);
+        var stats = cachingMovieInfoService.stats();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void retrieveMovieInfoMonoUsingId_ttlAndSizeEviction() {
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(anyLong()))
+                .thenAnswer(invocation -> Mono.just(movieInfo(invocation.getArgument(0))));
+
+        cachingMovieInfoService.retrieveMovieInfoMonoUsingId(1L).block();
+        cachingMovieInfoService.retrieveMovieInfoMonoUsingId(2L).block();
+        cachingMovieInfoService.retrieveMovieInfoMonoUsingId(3L).block(); // expulsa 1L (LRU)
+        assertThat(cachingMovieInfoService.stats().getEvictionCount()).isEqualTo(1);
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        cachingMovieInfoService.retrieveMovieInfoMonoUsingId(3L).block(); // expirado
+
+        verify(movieInfoService, times(2)).retrieveMovieInfoMonoUsingId(3L);
+        assertThat(cachingMovieInfoService.stats().getEvictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void retrieveMovieInfoMonoUsingId_coalescesConcurrentMisses() {
+        Sinks.One<MovieInfo> upstream = Sinks.one();
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(1L)).thenReturn(upstream.asMono());
+
+        var first = cachingMovieInfoService.retrieveMovieInfoMonoUsingId(1L).toFuture();
+        var second = cachingMovieInfoService.retrieveMovieInfoMonoUsingId(1L).toFuture();
+        upstream.tryEmitValue(movieInfo(1L));
+
+        assertThat(first.join()).isEqualTo(second.join());
+        verify(movieInfoService, times(1)).retrieveMovieInfoMonoUsingId(1L);
+    }
+
+    @Test
+    void retrieveMovieInfoBatch_onlyMissesReachDelegate() {
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(1L)).thenReturn(Mono.just(movieInfo(1L)));
+        when(movieInfoService.retrieveMovieInfoBatch(List.of(2L))).thenReturn(Mono.just(Map.of(2L, movieInfo(2L))));
+
+        cachingMovieInfoService.retrieveMovieInfoMonoUsingId(1L).block();
+
+        StepVerifier.create(cachingMovieInfoService.retrieveMovieInfoBatch(List.of(1L, 2L)))
+                .assertNext(movieInfoById -> assertThat(movieInfoById).containsOnlyKeys(1L, 2L))
+                .verifyComplete();
+        StepVerifier.create(cachingMovieInfoService.retrieveMovieInfoMonoUsingId(2L))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(movieInfoService, times(1)).retrieveMovieInfoBatch(anyCollection());
+        verify(movieInfoService, never()).retrieveMovieInfoMonoUsingId(2L);
+    }
+
+    @Test
+    void retrieveMovieInfoMonoUsingId_hitRefreshesLruOrder() {
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(anyLong()))
+                .thenAnswer(invocation -> Mono.just(movieInfo(invocation.getArgument(0))));
+
+        cachingMovieInfoService.retrieveMovieInfoMonoUsingId(1L).block();
+        cachingMovieInfoService.retrieveMovieInfoMonoUsingId(2L).block();
+        cachingMovieInfoService.retrieveMovieInfoMonoUsingId(1L).block(); // acierto, 1L pasa a ser el más reciente
+        cachingMovieInfoService.retrieveMovieInfoMonoUsingId(3L).block(); // expulsa 2L
+
+        cachingMovieInfoService.retrieveMovieInfoMonoUsingId(1L).block();
+        cachingMovieInfoService.retrieveMovieInfoMonoUsingId(2L).block();
+
+        verify(movieInfoService, times(1)).retrieveMovieInfoMonoUsingId(1L);
+        verify(movieInfoService, times(2)).retrieveMovieInfoMonoUsingId(2L);
+    }
+}
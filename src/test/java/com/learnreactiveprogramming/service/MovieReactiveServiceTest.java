@@ -2,8 +2,22 @@ package com.learnreactiveprogramming.service;
 
 import com.learnreactiveprogramming.domain.Movie;
 import com.learnreactiveprogramming.domain.MovieInfo;
+import com.learnreactiveprogramming.domain.Revenue;
 import com.learnreactiveprogramming.domain.Review;
+import com.learnreactiveprogramming.domain.ReviewSummary;
+import com.learnreactiveprogramming.domain.ReviewUpdate;
+import com.learnreactiveprogramming.exception.DeadlineExceededException;
 import com.learnreactiveprogramming.exception.MovieException;
+import com.learnreactiveprogramming.exception.NetworkException;
+import com.learnreactiveprogramming.exception.ReviewException;
+import com.learnreactiveprogramming.exception.ServiceException;
+import com.learnreactiveprogramming.metrics.InMemoryMeterRegistry;
+import com.learnreactiveprogramming.resilience.CircuitBreaker;
+import com.learnreactiveprogramming.resilience.CircuitBreakerConfig;
+import com.learnreactiveprogramming.resilience.Deadline;
+import com.learnreactiveprogramming.resilience.Hedger;
+import com.learnreactiveprogramming.resilience.HedgingConfig;
+import com.learnreactiveprogramming.resilience.RetryBudget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,16 +26,24 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 @ExtendWith(MockitoExtension.class)
 class MovieReactiveServiceTest {
@@ -81,12 +103,12 @@ class MovieReactiveServiceTest {
         // Assert
         StepVerifier.create(moviesFlux)
                 .expectNextMatches(movie -> {
-                    return movie.getMovieId().equals(1L) &&
+                    return movie.getMovieId() == 1L &&
                             movie.getMovie().getName().equals("Batman Begins") &&
                             movie.getReviewList().size() == 3;
                 })
                 .expectNextMatches(movie -> {
-                    return movie.getMovieId().equals(2L) &&
+                    return movie.getMovieId() == 2L &&
                             movie.getMovie().getName().equals("The Dark Knight") &&
                             movie.getReviewList().size() == 3;
                 })
@@ -111,11 +133,11 @@ class MovieReactiveServiceTest {
         // Assert
         StepVerifier.create(moviesFlux)
                 .expectNextMatches(movie -> {
-                    return movie.getMovieId().equals(1L) &&
+                    return movie.getMovieId() == 1L &&
                             movie.getReviewList().isEmpty();
                 })
                 .expectNextMatches(movie -> {
-                    return movie.getMovieId().equals(2L) &&
+                    return movie.getMovieId() == 2L &&
                             movie.getReviewList().isEmpty();
                 })
                 .verifyComplete();
@@ -165,7 +187,7 @@ class MovieReactiveServiceTest {
 
         StepVerifier.create(movieMono)
                 .expectNextMatches(element -> {
-                    return element.getMovieId().equals(1L) &&
+                    return element.getMovieId() == 1L &&
                             element.getReviewList().size() == 2;
                 })
                 .verifyComplete();
@@ -260,6 +282,427 @@ class MovieReactiveServiceTest {
                 .expectError(MovieException.class)
                 .verify();
 
-        verify(reviewService, times(4)).retrieveReviewsFlux(isA(Long.class));
+        // RuntimeException no es reintentable: solo NetworkException/ServiceException
+        verify(reviewService, times(1)).retrieveReviewsFlux(isA(Long.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllMovies_retry_networkExceptionRetriedPerItem() {
+        // Arrange
+        movieReactiveService.setReviewRetrySpec(Retry.backoff(3, Duration.ofMillis(1)));
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux);
+        when(reviewService.retrieveReviewsFlux(1L))
+                .thenThrow(new NetworkException("network down"))
+                .thenReturn(reviewsFluxToMovieInfoMono);
+        when(reviewService.retrieveReviewsFlux(2L)).thenReturn(reviewsFluxToMovieInfoMono);
+
+        // Act
+        var moviesFlux = movieReactiveService.getAllMovies_retry();
+
+        // Assert - solo se reintenta la película que falló, no todo el catálogo
+        StepVerifier.create(moviesFlux)
+                .expectNextCount(2)
+                .verifyComplete();
+
+        verify(movieInfoService, times(1)).movieInfoFlux();
+        verify(reviewService, times(2)).retrieveReviewsFlux(1L);
+        verify(reviewService, times(1)).retrieveReviewsFlux(2L);
+    }
+
+    @Test
+    void getAllMovies_retry_budgetExhausted() {
+        // Arrange - presupuesto sin tokens: no se permite ningún reintento
+        movieReactiveService.setReviewRetrySpec(Retry.backoff(3, Duration.ofMillis(1)));
+        movieReactiveService.setRetryBudget(new RetryBudget(0.1, 0));
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenThrow(new ServiceException("service down"));
+
+        // Act
+        var moviesFlux = movieReactiveService.getAllMovies_retry();
+
+        // Assert
+        StepVerifier.create(moviesFlux)
+                .expectError(MovieException.class)
+                .verify();
+
+        verify(reviewService, times(1)).retrieveReviewsFlux(anyLong());
+    }
+
+    @Test
+    void getAllMovies_batched() {
+        // Arrange
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux);
+        when(reviewService.retrieveReviewsBatch(anyCollection()))
+                .thenReturn(Mono.just(Map.of(1L, reviewsFluxToMovieInfoMono.collectList().block())));
+
+        // Act
+        var moviesFlux = movieReactiveService.getAllMovies_batched(10, Duration.ofMillis(100));
+
+        // Assert
+        StepVerifier.create(moviesFlux)
+                .expectNextMatches(movie -> movie.getMovieId() == 1L && movie.getReviewList().size() == 2)
+                .expectNextMatches(movie -> movie.getMovieId() == 2L && movie.getReviewList().isEmpty())
+                .verifyComplete();
+
+        verify(reviewService, times(1)).retrieveReviewsBatch(anyCollection());
+        verify(reviewService, never()).retrieveReviewsFlux(anyLong());
+    }
+
+    @Test
+    void getAllMovies_withRevenue() {
+        // Arrange
+        var revenueService = mock(RevenueService.class);
+        var service = new MovieReactiveService(movieInfoService, reviewService, revenueService);
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenReturn(reviewsFluxToMovieInfoMono);
+        when(revenueService.getRevenueMono(anyLong()))
+                .thenAnswer(invocation -> Mono.just(new Revenue(invocation.getArgument(0), 1000000, 5000000)));
+
+        // Act
+        var moviesFlux = service.getAllMovies_withRevenue(2);
+
+        // Assert
+        StepVerifier.create(moviesFlux)
+                .expectNextMatches(movie -> movie.getRevenue().getMovieId() == movie.getMovieId())
+                .expectNextMatches(movie -> movie.getRevenue().getMovieId() == movie.getMovieId())
+                .verifyComplete();
+
+        verify(revenueService, never()).getRevenue(anyLong());
+    }
+
+    @Test
+    void getMovieInfoById_singleFlight() {
+        Sinks.One<MovieInfo> movieInfoSink = Sinks.one();
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(1L)).thenReturn(movieInfoSink.asMono());
+        when(reviewService.retrieveReviewsFlux(1L)).thenReturn(reviewsFluxToMovieInfoMono);
+
+        var first = movieReactiveService.getMovieInfoById(1L).toFuture();
+        var second = movieReactiveService.getMovieInfoById(1L).toFuture();
+        movieInfoSink.tryEmitValue(movieInfoMono.block());
+
+        assertThat(first.join()).isSameAs(second.join());
+        verify(movieInfoService, times(1)).retrieveMovieInfoMonoUsingId(1L);
+        verify(reviewService, times(1)).retrieveReviewsFlux(1L);
+
+        // Terminada la llamada no se retiene nada: una nueva petición vuelve a consultar
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(1L)).thenReturn(movieInfoMono);
+        movieReactiveService.getMovieInfoById(1L).block();
+        verify(movieInfoService, times(2)).retrieveMovieInfoMonoUsingId(1L);
+    }
+
+    @Test
+    void getAllMovies_reviewCircuitOpen_degradesToEmptyReviews() {
+        // Arrange - el circuito se abre con el primer fallo
+        movieReactiveService.setReviewCircuitBreaker(new CircuitBreaker("reviewService", CircuitBreakerConfig.builder()
+                .minimumNumberOfCalls(1)
+                .build()));
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenReturn(Flux.error(new ServiceException("down")));
+
+        StepVerifier.create(movieReactiveService.getAllMovies())
+                .expectError(MovieException.class)
+                .verify();
+
+        // Act - con el circuito abierto no se llama a ReviewService
+        StepVerifier.create(movieReactiveService.getAllMovies())
+                .expectNextMatches(movie -> movie.getMovieId() == 1L && movie.getReviewList().isEmpty())
+                .expectNextMatches(movie -> movie.getMovieId() == 2L && movie.getReviewList().isEmpty())
+                .verifyComplete();
+
+        verify(reviewService, times(1)).retrieveReviewsFlux(anyLong());
+    }
+
+    @Test
+    void getAllMovies_degradable() {
+        // Arrange - la película 1 falla y la 2 no responde a tiempo
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux);
+        when(reviewService.retrieveReviewsFlux(1L)).thenReturn(Flux.error(new ReviewException("shard down")));
+        when(reviewService.retrieveReviewsFlux(2L)).thenReturn(Flux.never());
+        var counters = new DegradationCounters();
+
+        // Act
+        var moviesFlux = movieReactiveService.getAllMovies_degradable(Duration.ofMillis(50), counters);
+
+        // Assert
+        StepVerifier.create(moviesFlux)
+                .expectNextMatches(movie -> movie.getMovieId() == 1L && movie.isDegraded() && movie.getReviewList().isEmpty())
+                .expectNextMatches(movie -> movie.getMovieId() == 2L && movie.isDegraded())
+                .verifyComplete();
+
+        assertThat(counters.getDegradedCount()).isEqualTo(2);
+        assertThat(counters.getTimedOutCount()).isEqualTo(1);
+        assertThat(counters.getFailedCount()).isEqualTo(1);
+        assertThat(counters.getCompleteCount()).isZero();
+    }
+
+    @Test
+    void getAllMovies_degradable_reviewCircuitOpen() {
+        // Arrange - el circuito se abre con el primer fallo
+        movieReactiveService.setReviewCircuitBreaker(new CircuitBreaker("reviewService", CircuitBreakerConfig.builder()
+                .minimumNumberOfCalls(1)
+                .build()));
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenReturn(Flux.error(new ServiceException("down")));
+        var counters = new DegradationCounters();
+
+        // Act
+        var moviesFlux = movieReactiveService.getAllMovies_degradable(Duration.ofMillis(500), counters);
+
+        // Assert - la película que no llega a llamar al servicio también sale degradada
+        StepVerifier.create(moviesFlux)
+                .expectNextMatches(Movie::isDegraded)
+                .expectNextMatches(Movie::isDegraded)
+                .verifyComplete();
+
+        assertThat(counters.getFailedCount()).isEqualTo(2);
+        assertThat(counters.getCompleteCount()).isZero();
+    }
+
+    @Test
+    void getAllMovies_degradable_timeoutOpensReviewCircuit() {
+        // Arrange - el timeout de la primera película abre el circuito antes de que llegue la segunda
+        movieReactiveService.setReviewCircuitBreaker(new CircuitBreaker("reviewService", CircuitBreakerConfig.builder()
+                .minimumNumberOfCalls(1)
+                .build()));
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux.delayElements(Duration.ofMillis(100)));
+        when(reviewService.retrieveReviewsFlux(1L)).thenReturn(Flux.never());
+        var counters = new DegradationCounters();
+
+        // Act
+        var moviesFlux = movieReactiveService.getAllMovies_degradable(Duration.ofMillis(50), counters);
+
+        // Assert - la película 2 se degrada sin llamar a ReviewService
+        StepVerifier.create(moviesFlux)
+                .expectNextMatches(movie -> movie.getMovieId() == 1L && movie.isDegraded())
+                .expectNextMatches(movie -> movie.getMovieId() == 2L && movie.isDegraded())
+                .verifyComplete();
+
+        assertThat(counters.getTimedOutCount()).isEqualTo(1);
+        assertThat(counters.getFailedCount()).isEqualTo(1);
+        verify(reviewService, never()).retrieveReviewsFlux(2L);
+    }
+
+    @Test
+    void getAllMovies_ordered() {
+        // Arrange - las reviews de la película 1 llegan más tarde que las de la 2
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux);
+        when(reviewService.retrieveReviewsFlux(1L)).thenReturn(reviewsFluxToMovieInfoMono.delayElements(Duration.ofMillis(100)));
+        when(reviewService.retrieveReviewsFlux(2L)).thenReturn(reviewsFluxToMovieInfoMono);
+
+        // Act
+        var stats = new ReorderBufferStats();
+        var moviesFlux = movieReactiveService.getAllMovies_ordered(2, 1, stats);
+
+        // Assert - se mantiene el orden del catálogo y solo la 2 tuvo que esperar en el buffer
+        StepVerifier.create(moviesFlux)
+                .expectNextMatches(movie -> movie.getMovieId() == 1L)
+                .expectNextMatches(movie -> movie.getMovieId() == 2L)
+                .verifyComplete();
+
+        assertThat(stats.getOutOfOrderCount()).isEqualTo(1);
+        assertThat(stats.getMaxBuffered()).isEqualTo(1);
+        assertThat(stats.getBuffered()).isZero();
+    }
+
+    @Test
+    void getAllMovies_parallel_sortedByMovieId() {
+        // Arrange
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenReturn(reviewsFluxToMovieInfoMono);
+
+        // Act - el enriquecimiento se ejecuta en los hilos de Schedulers.parallel()
+        var moviesFlux = movieReactiveService.getAllMovies_parallel(2, true, movie -> {
+            assertThat(Thread.currentThread().getName()).startsWith("parallel");
+            return movie;
+        });
+
+        // Assert
+        StepVerifier.create(moviesFlux)
+                .expectNextMatches(movie -> movie.getMovieId() == 1L)
+                .expectNextMatches(movie -> movie.getMovieId() == 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllMovieSummaries() {
+        // Arrange
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenReturn(reviewsFlux);
+
+        // Act
+        var summariesFlux = movieReactiveService.getAllMovieSummaries(2, true);
+        var firstSummary = new AtomicReference<ReviewSummary>();
+
+        // Assert
+        StepVerifier.create(summariesFlux)
+                .assertNext(movieSummary -> {
+                    var summary = movieSummary.getReviewSummary();
+                    assertThat(movieSummary.getMovieId()).isEqualTo(1L);
+                    assertThat(summary.getCount()).isEqualTo(3);
+                    assertThat(summary.getMeanRating()).isCloseTo(9.1666, within(0.001));
+                    assertThat(summary.getMinRating()).isEqualTo(8.5);
+                    assertThat(summary.getMaxRating()).isEqualTo(10.0);
+                    assertThat(summary.getTopComments()).containsExactly("wow!", "Excellent!");
+                    assertThat(summary.ratingQuantile(0.5)).isEqualTo(9.0);
+                    assertThat(summary.getRatingCount(90)).isEqualTo(1);
+                    firstSummary.set(summary);
+                })
+                // mismas reviews: resumen igual aunque cada uno tenga su propio histograma
+                .assertNext(movieSummary -> {
+                    assertThat(movieSummary.getReviewSummary()).isEqualTo(firstSummary.get());
+                    assertThat(movieSummary.getReviewSummary().hashCode()).isEqualTo(firstSummary.get().hashCode());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getMovieInfo_metrics() {
+        var meterRegistry = new InMemoryMeterRegistry();
+        movieReactiveService.setMeterRegistry(meterRegistry);
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(anyLong())).thenReturn(movieInfoMono);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenReturn(reviewsFluxToMovieInfoMono);
+
+        StepVerifier.create(movieReactiveService.getMovieInfo(1L))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(meterRegistry.counter("movies.subscriptions", "pipeline", "getMovieInfo").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("movies.emitted", "pipeline", "getMovieInfo").count()).isEqualTo(1);
+        assertThat(meterRegistry.gauge("movies.inflight", "pipeline", "getMovieInfo").get()).isZero();
+        assertThat(meterRegistry.timer("movies.stage.duration", "stage", "movieInfoById").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("movies.stage.duration", "stage", "reviews").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("movies.stage.duration", "stage", "assembly").count()).isEqualTo(1);
+    }
+
+    @Test
+    void getAllMovies_errorMetrics() {
+        var meterRegistry = new InMemoryMeterRegistry();
+        movieReactiveService.setMeterRegistry(meterRegistry);
+        when(movieInfoService.movieInfoFlux()).thenReturn(movieInfoFlux);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenReturn(Flux.error(new NetworkException("network down")));
+
+        StepVerifier.create(movieReactiveService.getAllMovies())
+                .expectError(MovieException.class)
+                .verify();
+
+        // el tag es la causa original, no el MovieException que envuelve el error
+        assertThat(meterRegistry.counter("movies.errors", "pipeline", "getAllMovies", "exception", "NetworkException").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.timer("movies.stage.duration", "stage", "movieInfoFlux").count()).isEqualTo(1);
+    }
+
+    @Test
+    void getMovieInfo_deadlineExceeded() {
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(anyLong())).thenReturn(movieInfoMono);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenReturn(Flux.never());
+
+        var movieMono = movieReactiveService.getMovieInfo(1L)
+                .contextWrite(Deadline.within(Duration.ofMillis(100)));
+
+        StepVerifier.create(movieMono)
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void getMovieInfo_expiredDeadlineSkipsDownstreamCalls() {
+        var movieMono = movieReactiveService.getMovieInfo(1L)
+                .contextWrite(Deadline.within(Duration.ZERO));
+
+        StepVerifier.create(movieMono)
+                .expectError(DeadlineExceededException.class)
+                .verify();
+        verifyNoInteractions(movieInfoService, reviewService);
+    }
+
+    @Test
+    void getMovieInfo_hedgedWhenMovieInfoServiceIsSlow() {
+        var hedger = new Hedger(HedgingConfig.builder().initialDelay(Duration.ofMillis(50)).build());
+        movieReactiveService.setMovieInfoHedger(hedger);
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(anyLong())).thenReturn(Mono.never(), movieInfoMono);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenReturn(reviewsFluxToMovieInfoMono);
+
+        StepVerifier.create(movieReactiveService.getMovieInfo(1L))
+                .assertNext(movie -> assertThat(movie.getMovie().getName()).isEqualTo("Batman Begins"))
+                .verifyComplete();
+
+        verify(movieInfoService, times(2)).retrieveMovieInfoMonoUsingId(1L);
+        assertThat(hedger.getHedgeWins()).isEqualTo(1);
+    }
+
+    @Test
+    void getMoviesByIds() {
+        when(movieInfoService.retrieveMovieInfoBatch(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> movieIds = invocation.getArgument(0);
+            return Mono.just(movieIds.stream()
+                    .filter(movieId -> movieId != 3L) // 3L no existe
+                    .collect(Collectors.toMap(Function.identity(), movieId -> new MovieInfo(movieId, 100L, "Batman Begins", 2005,
+                            List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")))));
+        });
+        when(reviewService.retrieveReviewsBatch(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> movieIds = invocation.getArgument(0);
+            return Mono.just(movieIds.stream()
+                    .collect(Collectors.toMap(Function.identity(), movieId -> List.of(new Review(movieId, "Great movie!", 8.5)))));
+        });
+
+        var moviesFlux = movieReactiveService.getMoviesByIds(List.of(4L, 2L, 4L, 3L, 1L), 2, 2);
+
+        StepVerifier.create(moviesFlux.map(Movie::getMovieId))
+                .expectNext(4L, 2L, 1L)
+                .verifyComplete();
+        verify(movieInfoService, times(2)).retrieveMovieInfoBatch(anyCollection());
+        verify(reviewService, times(2)).retrieveReviewsBatch(anyCollection());
+    }
+
+    @Test
+    void getMovieUpdates() {
+        Sinks.Many<ReviewUpdate> liveReviews = Sinks.many().multicast().directBestEffort();
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(anyLong())).thenReturn(movieInfoMono);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenReturn(reviewsFluxToMovieInfoMono);
+        when(reviewService.liveReviewUpdates(1L)).thenReturn(liveReviews.asFlux());
+
+        // la review 2 ya está en la Movie inicial: solo la 3 produce una Movie nueva
+        StepVerifier.create(movieReactiveService.getMovieUpdates(1L))
+                .expectNextMatches(movie -> movie.getReviewList().size() == 2)
+                .then(() -> {
+                    liveReviews.tryEmitNext(new ReviewUpdate(2, new Review(1L, "Excellent Movie", 9.0)));
+                    liveReviews.tryEmitNext(new ReviewUpdate(3, new Review(1L, "Best of the trilogy", 9.5)));
+                })
+                .assertNext(movie -> {
+                    assertThat(movie.getReviewList()).hasSize(3);
+                    assertThat(movie.getReviewList().get(2).getComment()).isEqualTo("Best of the trilogy");
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void getMovieUpdates_gapReloadsMovie() {
+        Sinks.Many<ReviewUpdate> liveReviews = Sinks.many().multicast().directBestEffort();
+        when(movieInfoService.retrieveMovieInfoMonoUsingId(anyLong())).thenReturn(movieInfoMono);
+        when(reviewService.retrieveReviewsFlux(anyLong())).thenReturn(
+                reviewsFluxToMovieInfoMono,
+                Flux.just(
+                        new Review(1L, "Great movie!", 8.5),
+                        new Review(1L, "Excellent!", 9.0),
+                        new Review(1L, "Dark", 7.5),
+                        new Review(1L, "Too long", 6.0)));
+        when(reviewService.liveReviewUpdates(1L)).thenReturn(liveReviews.asFlux());
+
+        // las reviews 3 y 4 se perdieron por el camino: la 5 obliga a releer la película
+        StepVerifier.create(movieReactiveService.getMovieUpdates(1L))
+                .expectNextMatches(movie -> movie.getReviewList().size() == 2)
+                .then(() -> liveReviews.tryEmitNext(new ReviewUpdate(5, new Review(1L, "Masterpiece", 10.0))))
+                .assertNext(movie -> {
+                    assertThat(movie.getReviewList()).hasSize(5);
+                    assertThat(movie.getReviewList().get(3).getComment()).isEqualTo("Too long");
+                    assertThat(movie.getReviewList().get(4).getComment()).isEqualTo("Masterpiece");
+                })
+                .then(() -> liveReviews.tryEmitNext(new ReviewUpdate(6, new Review(1L, "Rewatched", 9.5))))
+                .assertNext(movie -> assertThat(movie.getReviewList()).hasSize(6))
+                .thenCancel()
+                .verify();
+
+        verify(reviewService, times(2)).retrieveReviewsFlux(1L);
+    }
+}
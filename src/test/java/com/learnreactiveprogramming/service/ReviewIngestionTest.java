@@ -0,0 +1,144 @@
+package com.learnreactiveprogramming.service;
+
+import com.learnreactiveprogramming.domain.Review;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewIngestionTest {
+
+    @TempDir
+    Path directory;
+
+    private final ReviewIngestionConfig config = ReviewIngestionConfig.builder()
+            .maxBatchSize(64)
+            .maxBatchDelay(Duration.ofMillis(2))
+            .backlogCapacity(16)
+            .build();
+
+    @Test
+    void ingestedReviewsAreServedByReviewService() throws IOException {
+        try (var ingestion = ReviewIngestion.open(directory, config)) {
+            var reviewService = new ReviewService(ingestion);
+
+            assertThat(reviewService.tryIngest(new Review(1L, "Awesome Movie", 8.9))).isEqualTo(Sinks.EmitResult.OK);
+            ingestion.flush().block(Duration.ofSeconds(5));
+
+            StepVerifier.create(reviewService.retrieveReviewsFlux(1L))
+                    .expectNext(new Review(1L, "Awesome Movie", 8.9))
+                    .verifyComplete();
+            assertThat(ingestion.getBacklog()).isZero();
+        }
+    }
+
+    @Test
+    void ingestFollowsWriterPaceWithBoundedBacklog() throws IOException {
+        try (var ingestion = ReviewIngestion.open(directory, config)) {
+            var maxBacklog = new AtomicLong();
+            // cada review se genera cuando la anterior ya se aceptó: se muestrea el backlog entre emisiones
+            var reviews = Flux.range(0, 5_000)
+                    .doOnNext(i -> maxBacklog.accumulateAndGet(ingestion.getBacklog(), Math::max))
+                    .map(i -> new Review(i % 10, "Excellent Movie", 9.0));
+
+            StepVerifier.create(ingestion.ingest(reviews).then(ingestion.flush()))
+                    .verifyComplete();
+
+            assertThat(ingestion.getPersisted()).isEqualTo(5_000);
+            assertThat(ingestion.getIndex().reviewList(3L)).hasSize(500);
+            // el productor tuvo que esperar al escritor y el backlog no pasó de backlogCapacity
+            assertThat(ingestion.getRejected()).isPositive();
+            assertThat(maxBacklog.get()).isLessThanOrEqualTo(config.getBacklogCapacity());
+        }
+    }
+
+    @Test
+    void indexIsRebuiltFromLogOnReopen() throws IOException {
+        try (var ingestion = ReviewIngestion.open(directory, config)) {
+            ingestion.ingest(Flux.just(new Review(1L, "Awesome Movie", 8.9), new Review(2L, "Excellent Movie", 9.0)))
+                    .then(ingestion.flush())
+                    .block(Duration.ofSeconds(5));
+        }
+
+        try (var reopened = ReviewIngestion.open(directory, config)) {
+            assertThat(new ReviewService(reopened).retrieveReviews(2L))
+                    .containsExactly(new Review(2L, "Excellent Movie", 9.0));
+        }
+    }
+
+    @Test
+    void liveReviewsPerMovie() throws IOException {
+        try (var ingestion = ReviewIngestion.open(directory, config)) {
+            var reviewService = new ReviewService(ingestion);
+
+            StepVerifier.create(reviewService.liveReviews(1L))
+                    .then(() -> {
+                        reviewService.tryIngest(new Review(2L, "Excellent Movie", 9.0));
+                        reviewService.tryIngest(new Review(1L, "Awesome Movie", 8.9));
+                    })
+                    .expectNext(new Review(1L, "Awesome Movie", 8.9))
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(5));
+
+            assertThat(ingestion.getBroadcaster().movieCount()).isZero();
+        }
+    }
+
+    @Test
+    void liveReviewsAreDeliveredOffTheWriterThread() throws IOException {
+        try (var ingestion = ReviewIngestion.open(directory, config)) {
+            var reviewService = new ReviewService(ingestion);
+
+            StepVerifier.create(reviewService.liveReviewUpdates(1L).map(update -> Thread.currentThread().getName()))
+                    .then(() -> reviewService.tryIngest(new Review(1L, "Awesome Movie", 8.9)))
+                    .assertNext(threadName -> assertThat(threadName).doesNotStartWith("review-writer"))
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    void slowConsumerKeepsLatestReviews() {
+        var broadcaster = new ReviewBroadcaster();
+
+        // la review 1 ya va camino del hilo de entrega; de las demás el buffer conserva las 2 últimas
+        StepVerifier.create(broadcaster.reviews(1L, ReviewBroadcaster.SlowConsumerPolicy.LATEST, 2), 0)
+                .then(() -> {
+                    for (int rating = 1; rating <= 5; rating++) {
+                        broadcaster.publish(new Review(1L, "Review", rating), rating);
+                    }
+                })
+                .thenRequest(3)
+                .expectNext(new Review(1L, "Review", 1), new Review(1L, "Review", 4), new Review(1L, "Review", 5))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(broadcaster.getDropped()).isEqualTo(2);
+    }
+
+    @Test
+    void slowConsumerDropsNewReviews() {
+        var broadcaster = new ReviewBroadcaster();
+
+        StepVerifier.create(broadcaster.reviews(1L, ReviewBroadcaster.SlowConsumerPolicy.DROP, 2), 0)
+                .then(() -> {
+                    for (int rating = 1; rating <= 5; rating++) {
+                        broadcaster.publish(new Review(1L, "Review", rating), rating);
+                    }
+                })
+                .thenRequest(5)
+                .expectNext(new Review(1L, "Review", 1), new Review(1L, "Review", 2), new Review(1L, "Review", 3))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(broadcaster.getDropped()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,44 @@
+package com.learnreactiveprogramming.store;
+
+import com.learnreactiveprogramming.domain.Review;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ColumnarReviewStoreTest {
+
+    private final ColumnarReviewStore store = ColumnarReviewStore.builder()
+            .add(2L, "Awesome Movie", 8.9)
+            .add(1L, "Excellent Movie", 9.0)
+            .add(2L, "Excellent Movie", 9.5)
+            .add(new Review(1L, null, Double.NaN))
+            .build();
+
+    @Test
+    void reviews() {
+        StepVerifier.create(store.reviews(2L))
+                .expectNext(new Review(2L, "Awesome Movie", 8.9))
+                .expectNext(new Review(2L, "Excellent Movie", 9.5))
+                .verifyComplete();
+
+        StepVerifier.create(store.reviews(1L))
+                .expectNext(new Review(1L, "Excellent Movie", 9.0))
+                .expectNext(new Review(1L, null, Double.NaN))
+                .verifyComplete();
+
+        StepVerifier.create(store.reviews(3L))
+                .verifyComplete();
+    }
+
+    @Test
+    void ratingsAndFootprint() {
+        assertThat(store.ratings(1L).toArray()).containsExactly(9.0);
+        assertThat(store.ratings(2L).sum()).isCloseTo(18.4, within(1e-9));
+        assertThat(store.size()).isEqualTo(4);
+        assertThat(store.movieCount()).isEqualTo(2);
+        assertThat(store.distinctComments()).isEqualTo(2);
+        assertThat(store.reviewCount(2L)).isEqualTo(2);
+    }
+}
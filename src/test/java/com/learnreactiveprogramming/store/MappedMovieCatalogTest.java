@@ -0,0 +1,53 @@
+package com.learnreactiveprogramming.store;
+
+import com.learnreactiveprogramming.domain.MovieInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedMovieCatalogTest {
+
+    private final List<MovieInfo> movies = List.of(
+            new MovieInfo(1L, 100L, "Batman Begins", 2005, List.of("Christian Bale", "Michael Cane"), LocalDate.parse("2005-06-15")),
+            new MovieInfo(2L, 101L, "The Dark Knight", 2008, List.of("Christian Bale", "HeathLedger"), LocalDate.parse("2008-07-18")),
+            new MovieInfo(3L, 102L, "Dark Knight Rises", 2008, List.of("Christian Bale", "Tom Hardy"), LocalDate.parse("2012-07-20")));
+
+    private MappedMovieCatalog catalog;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws IOException {
+        var file = tempDir.resolve("movies.catalog");
+        MappedMovieCatalog.write(file, movies);
+        catalog = MappedMovieCatalog.open(file);
+    }
+
+    @Test
+    void findById() {
+        assertThat(catalog.size()).isEqualTo(3);
+        assertThat(catalog.findById(2L)).contains(movies.get(1));
+        assertThat(catalog.findById(4L)).isEmpty();
+    }
+
+    @Test
+    void movieInfoFlux_isLazyUnderBackpressure() {
+        StepVerifier.create(catalog.movieInfoFlux(), 1)
+                .expectNext(movies.get(0))
+                .thenRequest(2)
+                .expectNext(movies.get(1), movies.get(2))
+                .verifyComplete();
+    }
+
+    @Test
+    void page() {
+        assertThat(catalog.page(1, 10)).containsExactly(movies.get(1), movies.get(2));
+        assertThat(catalog.page(5, 10)).isEmpty();
+    }
+}
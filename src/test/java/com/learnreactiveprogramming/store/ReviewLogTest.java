@@ -0,0 +1,96 @@
+package com.learnreactiveprogramming.store;
+
+import com.learnreactiveprogramming.domain.Review;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReviewLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<Review> batch = List.of(
+            new Review(1L, "Awesome Movie", 8.9),
+            new Review(2L, null, Double.NaN));
+
+    @Test
+    void replaysAppendedBatches() throws IOException {
+        try (var reviewLog = ReviewLog.open(directory, 1024, review -> { })) {
+            reviewLog.append(batch);
+            reviewLog.append(batch);
+        }
+
+        var replayed = new ArrayList<Review>();
+        ReviewLog.open(directory, 1024, replayed::add).close();
+
+        assertThat(replayed).containsExactly(batch.get(0), batch.get(1), batch.get(0), batch.get(1));
+    }
+
+    @Test
+    void rollsSegments() throws IOException {
+        try (var reviewLog = ReviewLog.open(directory, 64, review -> { })) {
+            reviewLog.append(batch);
+            reviewLog.append(batch);
+            reviewLog.append(batch);
+            assertThat(reviewLog.segmentCount()).isEqualTo(3);
+        }
+
+        var replayed = new ArrayList<Review>();
+        ReviewLog.open(directory, 64, replayed::add).close();
+        assertThat(replayed).hasSize(6);
+    }
+
+    @Test
+    void truncatesTornTail() throws IOException {
+        try (var reviewLog = ReviewLog.open(directory, 1024, review -> { })) {
+            reviewLog.append(batch);
+        }
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        var validSize = Files.size(segment);
+        try (var channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2})); // registro a medio escribir
+        }
+
+        var replayed = new ArrayList<Review>();
+        ReviewLog.open(directory, 1024, replayed::add).close();
+
+        assertThat(replayed).containsExactlyElementsOf(batch);
+        assertThat(Files.size(segment)).isEqualTo(validSize);
+    }
+
+    @Test
+    void failsOnCorruptionBeforeLastSegment() throws IOException {
+        try (var reviewLog = ReviewLog.open(directory, 64, review -> { })) {
+            reviewLog.append(batch);
+            reviewLog.append(batch);
+        }
+        Path firstSegment;
+        try (var files = Files.list(directory)) {
+            firstSegment = files.sorted().findFirst().orElseThrow();
+        }
+        try (var channel = FileChannel.open(firstSegment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 12); // un byte del movie_id del primer registro
+        }
+        var sizeBefore = Files.size(firstSegment);
+
+        assertThatThrownBy(() -> ReviewLog.open(directory, 64, review -> { }))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Corrupt review log segment");
+        assertThat(Files.size(firstSegment)).isEqualTo(sizeBefore);
+    }
+}
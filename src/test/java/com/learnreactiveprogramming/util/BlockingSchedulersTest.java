@@ -0,0 +1,88 @@
+package com.learnreactiveprogramming.util;
+
+import com.learnreactiveprogramming.domain.MovieInfo;
+import com.learnreactiveprogramming.domain.Revenue;
+import com.learnreactiveprogramming.service.MovieInfoService;
+import com.learnreactiveprogramming.service.RevenueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockingSchedulersTest {
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(BlockingSchedulers.SCHEDULER_PROPERTY);
+    }
+
+    @Test
+    void propertySelectsSchedulerType() {
+        assertThat(BlockingSchedulers.typeFromSystemProperty()).isEqualTo(BlockingSchedulers.Type.BOUNDED_ELASTIC);
+        assertThat(BlockingSchedulers.fromSystemProperty()).isSameAs(Schedulers.boundedElastic());
+
+        System.setProperty(BlockingSchedulers.SCHEDULER_PROPERTY, "virtual");
+        assertThat(BlockingSchedulers.typeFromSystemProperty()).isEqualTo(BlockingSchedulers.Type.VIRTUAL_THREADS);
+        assertThat(BlockingSchedulers.fromSystemProperty()).isSameAs(BlockingSchedulers.virtualThreads());
+
+        System.setProperty(BlockingSchedulers.SCHEDULER_PROPERTY, "bounded-elastic");
+        assertThat(BlockingSchedulers.typeFromSystemProperty()).isEqualTo(BlockingSchedulers.Type.BOUNDED_ELASTIC);
+    }
+
+    @Test
+    void boundedElasticRunsBlockingCallOffCallerThread() {
+        var blockingThread = retrieveMovieUsingIdThread(BlockingSchedulers.of(BlockingSchedulers.Type.BOUNDED_ELASTIC));
+
+        assertThat(blockingThread).isNotSameAs(Thread.currentThread());
+        assertThat(blockingThread.isVirtual()).isFalse();
+        assertThat(blockingThread.getName()).startsWith("boundedElastic");
+    }
+
+    @Test
+    void virtualThreadsRunBlockingCallOnVirtualThread() {
+        var blockingThread = retrieveMovieUsingIdThread(BlockingSchedulers.of(BlockingSchedulers.Type.VIRTUAL_THREADS));
+
+        assertThat(blockingThread).isNotSameAs(Thread.currentThread());
+        assertThat(blockingThread.isVirtual()).isTrue();
+    }
+
+    @Test
+    void revenueRunsOnVirtualThread() {
+        var blockingThread = new AtomicReference<Thread>();
+        var revenueService = new RevenueService(BlockingSchedulers.virtualThreads()) {
+            @Override
+            public Revenue getRevenue(Long movieId) {
+                blockingThread.set(Thread.currentThread());
+                return new Revenue(movieId, 1_000_000, 5_000_000);
+            }
+        };
+
+        revenueService.getRevenueMono(1L).block(Duration.ofSeconds(5));
+
+        assertThat(blockingThread.get()).isNotSameAs(Thread.currentThread());
+        assertThat(blockingThread.get().isVirtual()).isTrue();
+    }
+
+    // hilo en el que se ejecuta la llamada bloqueante de retrieveMovieUsingIdAsync
+    private static Thread retrieveMovieUsingIdThread(Scheduler scheduler) {
+        var blockingThread = new AtomicReference<Thread>();
+        var movieInfoService = new MovieInfoService(scheduler) {
+            @Override
+            public MovieInfo retrieveMovieUsingId(long movieId) {
+                blockingThread.set(Thread.currentThread());
+                return new MovieInfo(movieId, 100L, "Batman Begins", 2005,
+                        List.of("Christian Bale"), LocalDate.parse("2005-06-15"));
+            }
+        };
+
+        movieInfoService.retrieveMovieUsingIdAsync(1L).block(Duration.ofSeconds(5));
+        return blockingThread.get();
+    }
+}
@@ -0,0 +1,52 @@
+package com.learnreactiveprogramming.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignalTracerTest {
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(SignalTracer.TRACING_PROPERTY);
+    }
+
+    @Test
+    void fromSystemProperty_defaultsToOff() {
+        assertThat(SignalTracer.fromSystemProperty()).isSameAs(SignalTracer.off());
+
+        System.setProperty(SignalTracer.TRACING_PROPERTY, "off");
+        assertThat(SignalTracer.fromSystemProperty()).isSameAs(SignalTracer.off());
+    }
+
+    @Test
+    void fromSystemProperty_full() {
+        System.setProperty(SignalTracer.TRACING_PROPERTY, " FULL ");
+
+        assertThat(SignalTracer.fromSystemProperty()).isSameAs(SignalTracer.full());
+    }
+
+    @Test
+    void fromSystemProperty_sampled() {
+        System.setProperty(SignalTracer.TRACING_PROPERTY, "sampled:25");
+        assertThat(SignalTracer.fromSystemProperty().getMode()).isEqualTo(SignalTracer.Mode.SAMPLED);
+
+        System.setProperty(SignalTracer.TRACING_PROPERTY, "sampled:0");
+        assertThat(SignalTracer.fromSystemProperty()).isSameAs(SignalTracer.off());
+
+        System.setProperty(SignalTracer.TRACING_PROPERTY, "sampled:100");
+        assertThat(SignalTracer.fromSystemProperty()).isSameAs(SignalTracer.full());
+    }
+
+    @Test
+    void fromSystemProperty_malformedFallsBackToOff() {
+        for (var value : List.of("sampled:x", "sampled:", "sampled:-1", "sampled:150", "verbose")) {
+            System.setProperty(SignalTracer.TRACING_PROPERTY, value);
+
+            assertThat(SignalTracer.fromSystemProperty()).as(value).isSameAs(SignalTracer.off());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.learnreactiveprogramming.util;
+
+import com.learnreactiveprogramming.domain.MovieInfo;
+import com.learnreactiveprogramming.domain.Review;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringDictionaryTest {
+
+    @Test
+    void internReturnsCanonicalInstance() {
+        var dictionary = new StringDictionary(16, 64);
+        var first = new String("Christian Bale");
+        var copy = new String("Christian Bale");
+
+        assertThat(dictionary.intern(first)).isSameAs(first);
+        assertThat(dictionary.intern(copy)).isSameAs(first);
+        assertThat(dictionary.get(dictionary.idOf(copy))).isSameAs(first);
+
+        var stats = dictionary.stats();
+        assertThat(stats.getEntries()).isEqualTo(1);
+        assertThat(stats.getCopiesReplaced()).isEqualTo(2);
+        assertThat(stats.getEstimatedBytesReplaced()).isPositive();
+
+        // la instancia canónica no es una copia: no cuenta
+        dictionary.intern(first);
+        assertThat(dictionary.stats().getCopiesReplaced()).isEqualTo(2);
+        assertThat(dictionary.stats().getEstimatedBytesReplaced()).isEqualTo(stats.getEstimatedBytesReplaced());
+    }
+
+    @Test
+    void boundedByEntriesAndLength() {
+        var dictionary = new StringDictionary(2, 10);
+
+        assertThat(dictionary.idOf("a")).isZero();
+        assertThat(dictionary.idOf("b")).isEqualTo(1);
+        assertThat(dictionary.idOf("c")).isEqualTo(StringDictionary.NO_ID); // lleno
+        assertThat(dictionary.idOf("a")).isZero();
+        assertThat(dictionary.stats().getRejected()).isEqualTo(1);
+
+        var lengthBounded = new StringDictionary(2, 10);
+        var longText = "a comment longer than ten characters";
+        assertThat(lengthBounded.intern(longText)).isSameAs(longText);
+        assertThat(lengthBounded.stats().getRejected()).isEqualTo(1);
+        assertThat(lengthBounded.stats().getEntries()).isZero();
+    }
+
+    @Test
+    void growsAcrossChunks() {
+        var dictionary = new StringDictionary(5000, 64);
+
+        for (int i = 0; i < 5000; i++) {
+            assertThat(dictionary.idOf("name-" + i)).isEqualTo(i);
+        }
+        assertThat(dictionary.get(4321)).isEqualTo("name-4321");
+        assertThat(dictionary.idOf("one more")).isEqualTo(StringDictionary.NO_ID);
+    }
+
+    @Test
+    void castAndCommentsAreShared() {
+        var batmanBegins = new MovieInfo(1L, 100L, "Batman Begins", 2005,
+                List.of(new String("Christian Bale"), "Michael Cane"), LocalDate.parse("2005-06-15"));
+        var darkKnight = new MovieInfo(2L, 101L, "The Dark Knight", 2008,
+                List.of(new String("Christian Bale"), "Heath Ledger"), LocalDate.parse("2008-07-18"));
+
+        assertThat(batmanBegins.getCast()).containsExactly("Christian Bale", "Michael Cane");
+        assertThat(batmanBegins.getCast().get(0)).isSameAs(darkKnight.getCast().get(0));
+
+        var review = new Review(1L, new String("Excellent Movie"), 9.0);
+        var sameComment = new Review(2L, new String("Excellent Movie"), 8.0);
+        assertThat(review.getComment()).isSameAs(sameComment.getComment());
+    }
+}